@@ -1,14 +1,15 @@
 package com.LmsProject.AdminInterface.Controller;
 
-import java.util.Map;
 import java.util.Optional;
 
 import com.LmsProject.AdminInterface.DTO.AdminDTO;
 import com.LmsProject.AdminInterface.DTO.AdminDashboardStatsDTO;
 import com.LmsProject.AdminInterface.DTO.CourseStatusCountDTO;
 import com.LmsProject.AdminInterface.DTO.StudentCountDTO;
+import com.LmsProject.AdminInterface.Repository.EnrollmentCountRepository;
 import com.LmsProject.AdminInterface.Service.AdminService;
-import com.LmsProject.AdminInterface.Service.CourseService;
+import com.LmsProject.AdminInterface.Service.DashboardStatsService;
+import com.LmsProject.AdminInterface.Service.EnrollmentCountService;
 import com.LmsProject.AdminInterface.Service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -23,11 +24,14 @@ public class AdminController {
 
 
     @Autowired
-    private CourseService courseService;
+    private DashboardStatsService dashboardStatsService;
 
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private EnrollmentCountService enrollmentCountService;
+
     // Changed the return type from Optional<Administrator> to Optional<AdminDTO>
     @GetMapping("/{adminId}")
     public Optional<AdminDTO> getAdminProfile(@PathVariable Long adminId) {
@@ -44,13 +48,15 @@ public class AdminController {
     @GetMapping("/adminDashboardStatus")
     public AdminDashboardStatsDTO getDashboardStats() {
         StudentCountDTO studentCount = studentService.getTotalStudentCount();
-        Map<String, Long> counts = courseService.getCourseStatusCounts();
-        CourseStatusCountDTO courseStatusCount = new CourseStatusCountDTO(counts.get("ACTIVE"), counts.get("COMPLETED"));
+        CourseStatusCountDTO courseStatusCount = dashboardStatsService.getCourseStatusCounts();
+        EnrollmentCountRepository.Totals enrollments = enrollmentCountService.getTotals();
 
         return new AdminDashboardStatsDTO(
                 courseStatusCount.getActiveCount(),
                 courseStatusCount.getCompletedCount(),
-                studentCount.getTotalStudents()
+                studentCount.getTotalStudents(),
+                enrollments.getActive(),
+                enrollments.getCompleted()
         );
     }
 
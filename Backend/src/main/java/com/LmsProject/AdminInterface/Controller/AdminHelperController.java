@@ -1,42 +1,43 @@
 package com.LmsProject.AdminInterface.Controller;
 
 import com.LmsProject.AdminInterface.DTO.AdminHelperResponseDTO;
-import com.LmsProject.AdminInterface.DTO.SemesterInfoDTO;
-import com.LmsProject.AdminInterface.Model.Student;
-import com.LmsProject.AdminInterface.Repository.StudentRepository;
-import com.LmsProject.AdminInterface.Service.SemesterService;
+import com.LmsProject.AdminInterface.Service.BatchCatalogService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/helper")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = "ETag")
 @RequiredArgsConstructor
 public class AdminHelperController {
 
-    private final SemesterService semesterService;
-    private final StudentRepository studentRepository;
+    private final BatchCatalogService batchCatalogService;
 
+    // Semesters and batches for the filter dropdowns, answered from the catalog like /batches
     @GetMapping("/semester-and-batch-info")
-    public AdminHelperResponseDTO getSemesterAndBatchInfo() {
-        List<SemesterInfoDTO> semesterInfo = semesterService.getAllSemesters().stream()
-                .map(semester -> new SemesterInfoDTO(
-                        semester.getSemesterId(),
-                        semester.getSemesterName(),
-                        semester.getAcademicYear()))
-                .collect(Collectors.toList());
-
-        List<String> batches = studentRepository.findAll().stream()
-                .map(Student::getBatch)
-                .distinct()
-                .collect(Collectors.toList());
+    public ResponseEntity<AdminHelperResponseDTO> getSemesterAndBatchInfo(WebRequest request) {
+        BatchCatalogService.Catalog catalog = batchCatalogService.getCatalog();
+        if (request.checkNotModified(catalog.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(catalog.etag())
+                .body(new AdminHelperResponseDTO(catalog.semesters(), catalog.batches()));
+    }
 
-        return new AdminHelperResponseDTO(semesterInfo, batches);
+    // Batches only, answered from the catalog without touching the database while it is fresh
+    @GetMapping("/batches")
+    public ResponseEntity<List<String>> getBatches(WebRequest request) {
+        BatchCatalogService.Catalog catalog = batchCatalogService.getCatalog();
+        if (request.checkNotModified(catalog.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(catalog.etag()).body(catalog.batches());
     }
-}
\ No newline at end of file
+}
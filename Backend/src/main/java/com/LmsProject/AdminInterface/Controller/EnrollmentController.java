@@ -1,27 +1,43 @@
 package com.LmsProject.AdminInterface.Controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import com.LmsProject.AdminInterface.DTO.AdminCourseViewDTO;
+import com.LmsProject.AdminInterface.DTO.BulkEnrollmentRequestDTO;
+import com.LmsProject.AdminInterface.DTO.CourseRosterStudentDTO;
 import com.LmsProject.AdminInterface.DTO.CreateEnrollmentDTO;
 import com.LmsProject.AdminInterface.DTO.EnrollmentDTO;
+import com.LmsProject.AdminInterface.DTO.EnrollmentImportReportDTO;
+import com.LmsProject.AdminInterface.DTO.RosterCursor;
+import com.LmsProject.AdminInterface.DTO.SemesterRolloverRequestDTO;
 import com.LmsProject.AdminInterface.DTO.SimpleCourseViewDTO;
+import com.LmsProject.AdminInterface.Exception.CourseFullException;
 import com.LmsProject.AdminInterface.Exception.NoEnrollmentsFoundException;
 import com.LmsProject.AdminInterface.Exception.SemesterNotFoundException;
 import com.LmsProject.AdminInterface.Exception.StudentNotFoundException;
 import com.LmsProject.AdminInterface.Model.Enrollment;
+import com.LmsProject.AdminInterface.Service.EnrollmentGroupCommitService;
+import com.LmsProject.AdminInterface.Service.EnrollmentImportService;
 import com.LmsProject.AdminInterface.Service.EnrollmentService;
+import com.LmsProject.AdminInterface.Service.SemesterRolloverService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping("/api/enrollments")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = EventController.NEXT_CURSOR_HEADER)
 @RequiredArgsConstructor
 public class EnrollmentController {
     private final EnrollmentService enrollmentService;
+    private final EnrollmentImportService enrollmentImportService;
+    private final EnrollmentGroupCommitService enrollmentGroupCommitService;
+    private final SemesterRolloverService semesterRolloverService;
 
     @GetMapping("/student/{username}")
     public ResponseEntity<List<EnrollmentDTO>> getStudentEnrollments(@PathVariable String username) {
@@ -58,12 +74,47 @@ public class EnrollmentController {
         return enrollmentService.getAdminCourseView(courseId, semesterId, batch);
     }
 
+    /**
+     * Pages through the students of the admin course view. {@code q} filters by name or username,
+     * {@code sort} is name (default) or username; the next page's cursor is in the X-Next-Cursor header.
+     */
+    @GetMapping("/admin/course/{courseId}/semester/{semesterId}/batch/{batch}/students")
+    public ResponseEntity<?> getCourseRoster(
+            @PathVariable Long courseId,
+            @PathVariable String semesterId,
+            @PathVariable String batch,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            RosterCursor cursor = after != null ? RosterCursor.parse(after) : null;
+            List<CourseRosterStudentDTO> students =
+                    enrollmentService.getCourseRoster(courseId, semesterId, batch, q, sort, cursor, size);
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (!students.isEmpty() && students.size() >= EnrollmentService.boundedRosterPageSize(size)) {
+                CourseRosterStudentDTO last = students.get(students.size() - 1);
+                String value = "username".equals(sort) ? last.getUsername() : last.getName();
+                response.header(EventController.NEXT_CURSOR_HEADER,
+                        new RosterCursor(value, last.getStudentId()).toString());
+            }
+            return response.body(students);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping
     @ExceptionHandler
     public ResponseEntity<?> createEnrollment(@RequestBody CreateEnrollmentDTO dto) {
         try {
-            Enrollment enrollment = enrollmentService.createEnrollment(dto);
+            // Goes through a shared micro-batch when group commit is enabled
+            Enrollment enrollment = enrollmentGroupCommitService.enroll(dto);
             return ResponseEntity.status(HttpStatus.CREATED).body(enrollment);
+        } catch (CourseFullException ex) {
+            // Not enrolled yet: the student is on the waitlist and is enrolled when a seat frees up
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ex.getMessage());
         } catch (StudentNotFoundException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body("Student not found: " + ex.getMessage());
@@ -76,6 +127,58 @@ public class EnrollmentController {
         }
     }
 
+    // Withdraws an enrollment; its seat goes to the first student on the course's waitlist
+    @DeleteMapping("/{enrollmentId}")
+    public ResponseEntity<?> withdrawEnrollment(@PathVariable Long enrollmentId) {
+        try {
+            enrollmentService.withdrawEnrollment(enrollmentId);
+            return ResponseEntity.noContent().build();
+        } catch (NoEnrollmentsFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        }
+    }
+
+    // Enrolls a whole batch in several courses of a semester; returns created/skipped/failed counts
+    @PostMapping("/bulk")
+    public ResponseEntity<?> enrollBatch(@RequestBody BulkEnrollmentRequestDTO dto) {
+        try {
+            return ResponseEntity.ok(enrollmentService.enrollBatch(dto));
+        } catch (StudentNotFoundException | SemesterNotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
 
+    /**
+     * Imports enrollments from an uploaded CSV (header: username, semesterId, courseId and optionally
+     * status). Rows that fail are listed with their line numbers in the report instead of failing the upload.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importEnrollments(@RequestParam("file") MultipartFile file) {
+        try (InputStream csv = file.getInputStream()) {
+            EnrollmentImportReportDTO report = enrollmentImportService.importCsv(csv);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (IOException ex) {
+            return ResponseEntity.badRequest().body("Could not read the uploaded file: " + ex.getMessage());
+        }
+    }
 
+    /**
+     * Term-end rollover: completes the semester's enrollments (and its courses when no batches are
+     * given) and seeds the next semester for the same students. With dryRun the counts are reported
+     * and nothing is committed.
+     */
+    @PostMapping("/rollover")
+    public ResponseEntity<?> rollover(@RequestBody SemesterRolloverRequestDTO dto) {
+        try {
+            return ResponseEntity.ok(semesterRolloverService.rollover(dto));
+        } catch (SemesterNotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
 }
@@ -2,26 +2,56 @@ package com.LmsProject.AdminInterface.Controller;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Function;
 
 import com.LmsProject.AdminInterface.DTO.BatchEventRequestDTO;
+import com.LmsProject.AdminInterface.DTO.BulkEventRequestDTO;
+import com.LmsProject.AdminInterface.DTO.CacheStatsDTO;
+import com.LmsProject.AdminInterface.DTO.CalendarDayDTO;
 import com.LmsProject.AdminInterface.DTO.CourseEventRequestDTO;
 import com.LmsProject.AdminInterface.DTO.EventBasicResponseDTO;
+import com.LmsProject.AdminInterface.DTO.EventCursor;
+import com.LmsProject.AdminInterface.DTO.EventPageDTO;
 import com.LmsProject.AdminInterface.DTO.EventResponseDTO;
+import com.LmsProject.AdminInterface.DTO.RecurringEventRequestDTO;
 import com.LmsProject.AdminInterface.Exception.NoEventFoundException;
+import com.LmsProject.AdminInterface.Service.EventArchiveService;
+import com.LmsProject.AdminInterface.Service.EventChangeStream;
+import com.LmsProject.AdminInterface.Service.EventQueryCache;
+import com.LmsProject.AdminInterface.Service.EventSeriesService;
 import com.LmsProject.AdminInterface.Service.EventService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+/**
+ * Events come in two forms. Single events, including the occurrences written by {@code /bulk} from
+ * its {@code recurringEvents}, are rows with an id and are seen by every endpoint. Series created
+ * through {@code /series} stay one rule row each and are expanded only by the per-batch calendar
+ * reads: {@code /upcoming/basic}, {@code /date/basic}, {@code /calendar} and
+ * {@code /student/upcoming/basic} (and the batch iCalendar feed). Their occurrences carry
+ * {@code seriesId} and no id; details come from {@code /series/{id}/occurrences/{date}}.
+ * {@code /purge} also cuts matching series back, and the change stream announces series writes as
+ * {@code EVENT_SERIES} spans. {@code /filter}, {@code /upcoming/batchWiseEvents}, {@code /search},
+ * the {@code details} routes by event id and {@code /archive} return stored events only.
+ */
 @RestController
 @RequestMapping("/api/events")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = EventController.NEXT_CURSOR_HEADER)
 @RequiredArgsConstructor
 public class EventController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final EventService eventService;
+    private final EventSeriesService eventSeriesService;
+    private final EventQueryCache eventQueryCache;
+    private final EventArchiveService eventArchiveService;
+    private final EventChangeStream eventChangeStream;
 
     @PostMapping("/course")
     public ResponseEntity<EventResponseDTO> createCourseEvent(@RequestBody CourseEventRequestDTO request) {
@@ -33,6 +63,68 @@ public class EventController {
         return ResponseEntity.ok(eventService.createBatchEvent(request));
     }
 
+    // Many events at once, recurring ones written as one row per occurrence; all rows are validated before anything is written
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createEventsInBulk(@RequestBody BulkEventRequestDTO request) {
+        try {
+            return ResponseEntity.ok(eventService.createEventsInBulk(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Recurring events stored as a rule and expanded into the date window of each calendar read (see class comment)
+    @PostMapping("/series")
+    public ResponseEntity<?> createSeries(@RequestBody RecurringEventRequestDTO request) {
+        try {
+            return ResponseEntity.ok(eventSeriesService.createSeries(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/series/{id}")
+    public ResponseEntity<?> getSeries(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(eventSeriesService.getSeries(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    // Details of one occurrence of a series; occurrences are listed with seriesId and date but no id
+    @GetMapping("/series/{id}/occurrences/{date}")
+    public ResponseEntity<?> getOccurrence(
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return ResponseEntity.ok(eventSeriesService.getOccurrence(id, date));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/series/{id}")
+    public ResponseEntity<?> updateSeries(@PathVariable Long id, @RequestBody RecurringEventRequestDTO request) {
+        try {
+            return ResponseEntity.ok(eventSeriesService.updateSeries(id, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/series/{id}")
+    public ResponseEntity<?> deleteSeries(@PathVariable Long id) {
+        try {
+            eventSeriesService.deleteSeries(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @PutMapping("/course/{id}")
     public ResponseEntity<EventResponseDTO> updateCourseEvent(@PathVariable Long id, @RequestBody CourseEventRequestDTO request) {
         return ResponseEntity.ok(eventService.updateCourseEvent(id, request));
@@ -50,14 +142,34 @@ public class EventController {
         return ResponseEntity.noContent().build();
     }
 
+    // Removes all events, archived events and series occurrences of a batch, course and/or date range in one transaction
+    @DeleteMapping("/purge")
+    public ResponseEntity<?> purgeEvents(
+            @RequestParam(required = false) String batch,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(eventService.purgeEvents(batch, courseId, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Bounded page of events, optionally within [from, to]; follow X-Next-Cursor with "after" for more
     @GetMapping("/filter/{academicYear}/{semesterId}/{batch}")
     public ResponseEntity<?> getEventsByAcademicYearSemesterAndBatch(
             @PathVariable String academicYear,
             @PathVariable String semesterId,
-            @PathVariable String batch) {
+            @PathVariable String batch,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<EventResponseDTO> events = eventService.getEventsByAcademicYearSemesterAndBatch(academicYear, semesterId, batch);
-            return ResponseEntity.ok(events);
+            List<EventResponseDTO> events = eventService.getEventsByAcademicYearSemesterAndBatch(
+                    academicYear, semesterId, batch, from, to, after, size);
+            return withNextCursor(events, EventService.boundedPageSize(size), e -> new EventCursor(e.getDate(), e.getId()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -83,6 +195,24 @@ public class EventController {
         }
     }
 
+    // Per-day events of a date window (e.g. a calendar month) in a single request
+    @GetMapping("/calendar/{academicYear}/{semesterId}/{batch}")
+    public ResponseEntity<?> getCalendarRange(
+            @PathVariable String academicYear,
+            @PathVariable String semesterId,
+            @PathVariable String batch,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<CalendarDayDTO> days = eventService.getCalendarRange(academicYear, semesterId, batch, from, to);
+            return ResponseEntity.ok(days);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error fetching calendar events");
+        }
+    }
+
     // Get full details of a specific event (for date-specific events)
     @GetMapping("/details/{eventId}")
     public ResponseEntity<?> getEventDetails(@PathVariable Long eventId) {
@@ -96,15 +226,21 @@ public class EventController {
         }
     }
 
-    // Upcoming basic events
+    // Upcoming basic events. With a size, returns one page and an X-Next-Cursor header to pass as "after"
     @GetMapping("/upcoming/basic/{academicYear}/{semesterId}/{batch}")
     public ResponseEntity<?> getUpcomingBasicEvents(
             @PathVariable String academicYear,
             @PathVariable String semesterId,
-            @PathVariable String batch) {
+            @PathVariable String batch,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<EventBasicResponseDTO> events = eventService.getUpcomingBasicEvents(academicYear, semesterId, batch);
-            return ResponseEntity.ok(events);
+            EventPageDTO page = eventService.getUpcomingBasicEvents(academicYear, semesterId, batch, after, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+            }
+            return response.body(page.getEvents());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -112,6 +248,40 @@ public class EventController {
         }
     }
 
+    // Past events moved out of the live tables; keyset pages like /filter, follow X-Next-Cursor with "after"
+    @GetMapping("/archive")
+    public ResponseEntity<?> getArchivedEvents(
+            @RequestParam(required = false) String batch,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            List<EventResponseDTO> events = eventArchiveService.getArchivedEvents(batch, courseId, from, to, after, size);
+            return withNextCursor(events, EventService.boundedPageSize(size), e -> new EventCursor(e.getDate(), e.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Ranked full-text search over event titles and descriptions; "page" is zero-based
+    @GetMapping("/search")
+    public ResponseEntity<?> searchEvents(
+            @RequestParam String q,
+            @RequestParam(required = false) String batch,
+            @RequestParam(required = false) String semesterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(eventService.searchEvents(q, batch, semesterId, from, to, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // Upcoming eventful details
     @GetMapping("/upcoming/details/{eventId}")
     public ResponseEntity<?> getUpcomingEventDetails(@PathVariable Long eventId) {
@@ -125,13 +295,41 @@ public class EventController {
         }
     }
 
+    // Adds the cursor of the last row when the page came back full, meaning more rows may follow
+    private static <T> ResponseEntity<List<T>> withNextCursor(List<T> events, int pageSize, Function<T, EventCursor> cursorOf) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!events.isEmpty() && events.size() >= pageSize) {
+            response.header(NEXT_CURSOR_HEADER, cursorOf.apply(events.get(events.size() - 1)).toString());
+        }
+        return response.body(events);
+    }
+
     @GetMapping("/upcoming/batchWiseEvents")
-    public List<EventResponseDTO> getUpcomingBatchEvents() {
-        return eventService.getUpcomingBatchEvents();
+    public ResponseEntity<?> getUpcomingBatchEvents(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            List<EventResponseDTO> events = eventService.getUpcomingBatchEvents(after, size);
+            return withNextCursor(events, EventService.boundedPageSize(size), e -> new EventCursor(e.getDate(), e.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
 
 
+    // Live stream of committed event changes (Server-Sent Events), optionally only those of one batch
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEventChanges(@RequestParam(required = false) String batch) {
+        return eventChangeStream.subscribe(batch);
+    }
+
+    // Hit/miss counters of the event query cache
+    @GetMapping("/cache/stats")
+    public CacheStatsDTO getCacheStats() {
+        return eventQueryCache.getStats();
+    }
+
      //fetching the events for the student
      @GetMapping("/student/upcoming/basic/{username}")
      public ResponseEntity<?> getUpcomingEventsForStudentBasic(@PathVariable String username) {
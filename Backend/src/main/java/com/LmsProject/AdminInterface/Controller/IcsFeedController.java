@@ -0,0 +1,66 @@
+package com.LmsProject.AdminInterface.Controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import com.LmsProject.AdminInterface.Repository.StudentRepository;
+import com.LmsProject.AdminInterface.Service.EventFeedVersions;
+import com.LmsProject.AdminInterface.Service.IcsFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Subscribable iCalendar feeds. Calendar apps poll these, so unchanged feeds are answered with
+ * 304 from in-memory versions before any query runs.
+ */
+@RestController
+@RequestMapping("/api/events/ics")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {"ETag", "Last-Modified"})
+@RequiredArgsConstructor
+public class IcsFeedController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final IcsFeedService icsFeedService;
+    private final EventFeedVersions eventFeedVersions;
+    private final StudentRepository studentRepository;
+
+    @GetMapping("/batch/{batch}")
+    public ResponseEntity<StreamingResponseBody> getBatchFeed(@PathVariable String batch, WebRequest request) {
+        String etag = eventFeedVersions.batchETag(batch);
+        long lastModified = eventFeedVersions.batchLastModified(batch);
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(out -> icsFeedService.writeBatchFeed(batch, out));
+    }
+
+    @GetMapping("/student/{username}")
+    public ResponseEntity<?> getStudentFeed(@PathVariable String username, WebRequest request) {
+        Optional<String> batch = studentRepository.findBatchByUsername(username);
+        if (batch.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Student not found with username: " + username);
+        }
+
+        String etag = eventFeedVersions.studentETag(username, batch.get());
+        long lastModified = eventFeedVersions.studentLastModified(username, batch.get());
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        StreamingResponseBody body = out -> icsFeedService.writeStudentFeed(username, batch.get(), out);
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(body);
+    }
+}
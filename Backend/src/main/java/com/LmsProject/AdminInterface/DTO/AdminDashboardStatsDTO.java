@@ -13,6 +13,8 @@ public class AdminDashboardStatsDTO {
     private long  activeCourses;
     private long  completedCourses;
     private long totalStudents;
+    private long activeEnrollments;
+    private long completedEnrollments;
 
 }
 
@@ -0,0 +1,16 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.util.List;
+
+import com.LmsProject.AdminInterface.Model.Enrollment;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BulkEnrollmentRequestDTO {
+  private String batch;
+  private String semesterId;
+  private List<Long> courseIds;
+  private Enrollment.EnrollmentStatus status;
+}
@@ -0,0 +1,16 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentResultDTO {
+  private int created; // new enrollments
+  private int skipped; // students already enrolled in the course for the semester
+  private int failed; // student/course pairs not enrolled because the course was invalid
+  private List<String> failures;
+}
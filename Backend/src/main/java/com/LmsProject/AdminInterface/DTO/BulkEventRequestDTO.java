@@ -0,0 +1,14 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.util.List;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEventRequestDTO {
+    private List<CourseEventRequestDTO> courseEvents;
+    private List<BatchEventRequestDTO> batchEvents;
+    private List<RecurringEventRequestDTO> recurringEvents; // expanded into one event per occurrence
+}
@@ -0,0 +1,15 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEventResultDTO {
+    private int courseEventsCreated;
+    private int batchEventsCreated;
+    private List<Long> eventIds;
+}
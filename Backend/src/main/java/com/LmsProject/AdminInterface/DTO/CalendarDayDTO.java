@@ -0,0 +1,16 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarDayDTO {
+    private LocalDate date;
+    private int eventCount;
+    private List<EventBasicResponseDTO> events;
+}
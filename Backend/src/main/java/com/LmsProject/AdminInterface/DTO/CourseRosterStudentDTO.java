@@ -0,0 +1,18 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import com.LmsProject.AdminInterface.Model.Enrollment;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseRosterStudentDTO {
+    private Long studentId;
+    private String name;
+    private String username;
+    private Enrollment.EnrollmentStatus status;
+    private LocalDate enrollmentDate;
+}
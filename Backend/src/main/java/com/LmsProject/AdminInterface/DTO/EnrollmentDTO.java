@@ -1,11 +1,15 @@
 package com.LmsProject.AdminInterface.DTO;
 
 import com.LmsProject.AdminInterface.Model.Enrollment;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class EnrollmentDTO {
 
   private String semester;
@@ -0,0 +1,25 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+public class EnrollmentImportReportDTO {
+    private int rows; // data rows read, excluding the header and blank lines
+    private int created; // new enrollments
+    private int skipped; // rows already enrolled, in the database or earlier in the file
+    private int failed; // rows rejected; the first ones are listed in errors
+    private boolean errorsTruncated; // more rows failed than are listed
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line; // 1-based line in the file, the header being line 1
+        private String message;
+    }
+}
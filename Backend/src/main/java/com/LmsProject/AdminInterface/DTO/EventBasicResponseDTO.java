@@ -13,4 +13,9 @@ public class EventBasicResponseDTO {
     private LocalDate date;
     private Long courseId;
     private String eventType; // "COURSE_EVENT" or "BATCH_EVENT"
+    private Long seriesId; // set (and id left null) for an occurrence of a recurring series
+
+    public EventBasicResponseDTO(Long id, String title, LocalDate date, Long courseId, String eventType) {
+        this(id, title, date, courseId, eventType, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact notice published after an event is created, updated or deleted.
+ *
+ * <p>For updates, {@code previousDate} and {@code previousBatch} hold the values before the change so
+ * listeners can also refresh the day and batch the event moved away from. A recurring series covers
+ * the days from {@code date} to {@code untilDate}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventChangeDTO {
+    private Long id;
+    private String eventType; // "COURSE_EVENT", "BATCH_EVENT", "EVENT_SERIES", or "BULK"/"PURGE"/"ARCHIVE" (many events, no id)
+    private String action; // "CREATED", "UPDATED" or "DELETED"
+    private LocalDate date;
+    private LocalDate untilDate; // last day touched, for a series or many events
+    private String batch;
+    private LocalDate previousDate;
+    private String previousBatch;
+}
@@ -0,0 +1,52 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Keyset position in an event list ordered by (date, id).
+ *
+ * <p>Written as {@code yyyy-MM-dd:id}; this is the value returned in the {@code X-Next-Cursor} header
+ * and sent back by clients in the {@code after} parameter.
+ */
+@Data
+@AllArgsConstructor
+public class EventCursor {
+    private LocalDate date;
+    private Long id;
+
+    public static EventCursor parse(String value) {
+        int separator = value.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+        try {
+            return new EventCursor(
+                    LocalDate.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+    }
+
+    // Position just before the first event on the given date
+    public static EventCursor startOf(LocalDate date) {
+        return new EventCursor(date, 0L);
+    }
+
+    // Position just after the last event on the given date, occurrences of series included
+    public static EventCursor endOf(LocalDate date) {
+        return new EventCursor(date, Long.MAX_VALUE);
+    }
+
+    public boolean isBefore(EventCursor other) {
+        return date.isBefore(other.date) || (date.equals(other.date) && id < other.id);
+    }
+
+    @Override
+    public String toString() {
+        return date + ":" + id;
+    }
+}
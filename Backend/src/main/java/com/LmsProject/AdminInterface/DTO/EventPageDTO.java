@@ -0,0 +1,15 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One page of events and the cursor of the page after it; nextCursor is null on the last page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPageDTO {
+    private List<EventBasicResponseDTO> events;
+    private EventCursor nextCursor;
+}
@@ -0,0 +1,14 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPurgeResultDTO {
+    private int deletedCount;
+    private int archivedDeletedCount;
+    private int seriesChangedCount; // series deleted or cut back to outside the purged range
+}
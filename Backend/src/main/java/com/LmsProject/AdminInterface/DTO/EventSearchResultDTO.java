@@ -0,0 +1,23 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSearchResultDTO {
+    private Long id;
+    private String title;
+    private LocalDate date;
+    private String description;
+    private String eventType; // "COURSE_EVENT" or "BATCH_EVENT"
+    private Long courseId;
+    private String courseName;
+    private String batch;
+    private double rank; // higher is a better match
+}
@@ -0,0 +1,21 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSeriesResponseDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private String createdBy;
+    private String eventType; // "COURSE_EVENT" or "BATCH_EVENT"
+    private Long courseId;
+    private String batch;
+    private RecurrenceRuleDTO recurrence;
+}
@@ -0,0 +1,24 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Weekly recurrence: the given days of every {@code intervalWeeks}-th week between the start and end
+ * dates (both inclusive). Weeks are counted from the week of the start date.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurrenceRuleDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Set<DayOfWeek> daysOfWeek;
+    private Integer intervalWeeks; // defaults to 1 (every week)
+}
@@ -0,0 +1,16 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringEventRequestDTO {
+    private String title;
+    private String description;
+    private String createdBy;
+    private Long courseId; // course event series when set, batch event series otherwise
+    private String batch;
+    private RecurrenceRuleDTO recurrence;
+}
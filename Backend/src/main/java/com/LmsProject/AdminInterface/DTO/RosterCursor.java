@@ -0,0 +1,45 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Keyset position in a course roster ordered by (sort value, student id).
+ *
+ * <p>Written as URL-safe Base64 of {@code id:value}, since names may hold characters that are not
+ * allowed in a header; this is the value of the {@code X-Next-Cursor} header and the {@code after}
+ * parameter.
+ */
+@Data
+@AllArgsConstructor
+public class RosterCursor {
+    private String value;
+    private Long id;
+
+    public static RosterCursor parse(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new RosterCursor(decoded.substring(separator + 1), Long.parseLong(decoded.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            // Also covers bad Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Position before the first student
+    public static RosterCursor start() {
+        return new RosterCursor("", 0L);
+    }
+
+    @Override
+    public String toString() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + ":" + value).getBytes(StandardCharsets.UTF_8));
+    }
+}
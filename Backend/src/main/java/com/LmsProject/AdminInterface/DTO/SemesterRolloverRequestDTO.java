@@ -0,0 +1,15 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SemesterRolloverRequestDTO {
+  private String semesterId; // semester that ends
+  private String nextSemesterId; // semester to seed; null to only close semesterId
+  private List<String> batches; // null or empty for every batch enrolled in semesterId; courses are completed only then
+  private boolean dryRun; // run every statement, report the counts and roll back
+}
@@ -0,0 +1,25 @@
+package com.LmsProject.AdminInterface.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+public class SemesterRolloverResultDTO {
+    private boolean dryRun; // nothing was committed
+    private int coursesCompleted;
+    private int enrollmentsCompleted; // ACTIVE enrollments of the ending semester marked COMPLETED
+    private int enrollmentsCreated; // enrollments seeded in the next semester
+    private List<BatchRollover> batches = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchRollover {
+        private String batch; // "" for students without a batch
+        private int enrollmentsCompleted;
+        private int enrollmentsCreated;
+    }
+}
@@ -17,4 +17,11 @@ public class SimpleCourseViewDTO {
     private String semesterName;
     private String academicYear;
     private List<StudentViewLectureDTO> lectures;
+    private long enrolledStudentCount; // students of the batch enrolled in the course, for the card badge
+
+    // Card columns only, for query projections
+    public SimpleCourseViewDTO(Long courseId, String courseName, String courseImage,
+                               String semesterId, String semesterName, String academicYear) {
+        this(courseId, courseName, courseImage, semesterId, semesterName, academicYear, null, 0);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.LmsProject.AdminInterface.Exception;
+
+/** Thrown when a course has no free seat; the student has been put on its waitlist. */
+public class CourseFullException extends RuntimeException {
+  private final long waitlistPosition;
+
+  public CourseFullException(String message, long waitlistPosition) {
+    super(message);
+    this.waitlistPosition = waitlistPosition;
+  }
+
+  public long getWaitlistPosition() {
+    return waitlistPosition;
+  }
+}
@@ -0,0 +1,56 @@
+package com.LmsProject.AdminInterface.Model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import lombok.*;
+
+/**
+ * A past event moved out of the live event tables by the archive job. Course and semester columns
+ * are copied in, so history stays readable even after the course itself is removed.
+ */
+@Entity
+@Table(
+        name = "events_archive",
+        indexes = {
+                @Index(name = "idx_events_archive_batch_date_id", columnList = "batch, date, id"),
+                @Index(name = "idx_events_archive_course_date_id", columnList = "course_id, date, id")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedEvent {
+    // Same id the event had while live
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false)
+    private String createdBy;
+
+    @Column(nullable = false)
+    private String eventType; // "COURSE_EVENT" or "BATCH_EVENT"
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    private String courseName;
+    private String semesterId;
+    private String semesterName;
+    private String academicYear;
+
+    @Column(nullable = false)
+    private String batch;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
@@ -7,7 +7,7 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "batch_events")
+@Table(name = "batch_events", indexes = @Index(name = "idx_batch_events_batch", columnList = "batch"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -129,4 +129,7 @@ public class Course {
 
 
   private String courseImage;
+
+  /** Maximum number of enrolled students. Null means the course is not limited. */
+  private Integer capacity;
 }
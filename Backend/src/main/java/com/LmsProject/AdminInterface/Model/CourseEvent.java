@@ -5,7 +5,7 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "course_events")
+@Table(name = "course_events", indexes = @Index(name = "idx_course_events_batch_course", columnList = "batch, course_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,8 +13,11 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 public class CourseEvent extends Event {
 
-    @ManyToOne
+    // Lazy: event reads are projected and never need the course's eager lectures and lecturers
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Course course;
 
     @Column(nullable = false)
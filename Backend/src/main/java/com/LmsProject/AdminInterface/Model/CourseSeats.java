@@ -0,0 +1,23 @@
+package com.LmsProject.AdminInterface.Model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Seats taken in a course, kept apart from {@link Course} so that allocating a seat is a
+ * conditional update of one small row and never races with a save of the course itself. The
+ * limit is {@link Course#getCapacity()}.
+ */
+@Entity
+@Table(name = "course_seats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSeats {
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(nullable = false)
+    private int taken;
+}
@@ -0,0 +1,46 @@
+package com.LmsProject.AdminInterface.Model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import lombok.*;
+
+/**
+ * Number of enrollments per course, semester and student batch, split by status. Rows are adjusted
+ * in the same transaction as the enrollment writes, so counts are read with a key lookup instead of
+ * scanning enrollments; a nightly job in {@code EnrollmentCountService} corrects any drift.
+ */
+@Entity
+@Table(name = "enrollment_counts")
+@IdClass(EnrollmentCount.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentCount {
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Id
+    @Column(name = "semester_id")
+    private String semesterId;
+
+    // Empty for students without a batch, as key columns cannot be null
+    @Id
+    @Column(name = "batch")
+    private String batch;
+
+    @Column(name = "active_count", nullable = false)
+    private long activeCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long courseId;
+        private String semesterId;
+        private String batch;
+    }
+}
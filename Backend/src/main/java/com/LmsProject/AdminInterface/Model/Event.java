@@ -8,7 +8,7 @@ import java.time.LocalDate;
 
 @Inheritance(strategy = InheritanceType.JOINED)
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = @Index(name = "idx_events_date_id", columnList = "date, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
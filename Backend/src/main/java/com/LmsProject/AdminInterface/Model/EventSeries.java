@@ -0,0 +1,53 @@
+package com.LmsProject.AdminInterface.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.*;
+
+/**
+ * A recurring event stored as a weekly rule instead of one {@link Event} row per occurrence.
+ * Occurrences are expanded only for the date window a query asks for.
+ */
+@Entity
+@Table(
+        name = "event_series",
+        indexes = @Index(name = "idx_event_series_batch_dates", columnList = "batch, start_date, end_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventSeries {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false)
+    private String createdBy;
+
+    /** Course of a course event series; null for a series addressed to the whole batch. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    @Column(nullable = false)
+    private String batch;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    /** Comma separated {@link java.time.DayOfWeek} names, e.g. "MONDAY,THURSDAY". */
+    @Column(nullable = false)
+    private String daysOfWeek;
+
+    @Column(nullable = false)
+    private Integer intervalWeeks;
+}
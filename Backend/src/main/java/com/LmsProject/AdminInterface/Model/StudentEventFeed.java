@@ -0,0 +1,44 @@
+package com.LmsProject.AdminInterface.Model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.*;
+
+/**
+ * Precomputed link between a student and an event they see: the course events of their enrolled
+ * courses in their batch, and the events addressed to their whole batch. Rows are written when
+ * events or enrollments change so reading a student's feed is one indexed range scan.
+ */
+@Entity
+@Table(
+        name = "student_event_feed",
+        indexes = {
+                @Index(name = "idx_student_event_feed_student_date", columnList = "student_id, event_date, event_id"),
+                @Index(name = "idx_student_event_feed_event", columnList = "event_id")
+        })
+@IdClass(StudentEventFeed.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentEventFeed {
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    // Copy of the event's date so the feed can be range-scanned without touching events
+    @Column(name = "event_date", nullable = false)
+    private LocalDate eventDate;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long studentId;
+        private Long eventId;
+    }
+}
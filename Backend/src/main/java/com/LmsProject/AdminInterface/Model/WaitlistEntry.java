@@ -0,0 +1,51 @@
+package com.LmsProject.AdminInterface.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * A student waiting for a seat in a full course. Entries are promoted to enrollments in id order
+ * when seats free up.
+ */
+@Entity
+@Table(
+        name = "enrollment_waitlist",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "semester_id", "course_id"}),
+        indexes = @Index(name = "idx_enrollment_waitlist_course", columnList = "course_id, waitlist_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "waitlist_id")
+    private Long waitlistId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "semester_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Semester semester;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Course course;
+
+    // Status the enrollment gets when the entry is promoted
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Enrollment.EnrollmentStatus status;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+}
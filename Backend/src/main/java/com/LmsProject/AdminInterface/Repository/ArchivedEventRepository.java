@@ -0,0 +1,76 @@
+package com.LmsProject.AdminInterface.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.LmsProject.AdminInterface.DTO.EventResponseDTO;
+import com.LmsProject.AdminInterface.Model.ArchivedEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+
+    /**
+     * Moves up to {@code limit} of the oldest events dated before {@code before} into events_archive
+     * and deletes them from the live tables, all in one statement. Returns the moved rows.
+     */
+    @Query(value = "WITH target AS (" +
+            "SELECT e.id, e.title, e.date, e.description, e.created_by, " +
+            "CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END AS event_type, " +
+            "ce.course_id, c.name AS course_name, s.semester_id, s.semester_name, s.academic_year, " +
+            "COALESCE(ce.batch, be.batch) AS batch " +
+            "FROM events e " +
+            "LEFT JOIN course_events ce ON ce.id = e.id " +
+            "LEFT JOIN course c ON c.course_id = ce.course_id " +
+            "LEFT JOIN semesters s ON s.semester_id = c.semester_id " +
+            "LEFT JOIN batch_events be ON be.id = e.id " +
+            "WHERE e.date < :before " +
+            "ORDER BY e.date, e.id " +
+            "LIMIT :limit), " +
+            "archived AS (INSERT INTO events_archive (id, title, date, description, created_by, event_type, " +
+            "course_id, course_name, semester_id, semester_name, academic_year, batch, archived_at) " +
+            "SELECT id, title, date, description, created_by, event_type, course_id, course_name, " +
+            "semester_id, semester_name, academic_year, batch, now() FROM target " +
+            "ON CONFLICT (id) DO NOTHING), " +
+            EventRepository.DELETE_TARGETS, nativeQuery = true)
+    List<EventRepository.DeletedEvent> moveToArchive(@Param("before") LocalDate before, @Param("limit") int limit);
+
+    // Deletes archived events matching all of the given filters; null filters are ignored
+    @Modifying
+    @Query("DELETE FROM ArchivedEvent a " +
+            "WHERE (:batch IS NULL OR a.batch = :batch) " +
+            "AND (:courseId IS NULL OR a.courseId = :courseId) " +
+            "AND (:from IS NULL OR a.date >= :from) " +
+            "AND (:to IS NULL OR a.date <= :to)")
+    int deleteMatching(
+            @Param("batch") String batch,
+            @Param("courseId") Long courseId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * One keyset page of archived events, filtered by batch and/or course (null filters are
+     * ignored) within [afterDate, to], ordered by (date, id).
+     */
+    @Query("SELECT new com.LmsProject.AdminInterface.DTO.EventResponseDTO(" +
+            "a.id, a.title, a.date, a.description, a.createdBy, a.eventType, " +
+            "a.courseId, a.semesterId, a.courseName, a.semesterName, a.academicYear, a.batch) " +
+            "FROM ArchivedEvent a " +
+            "WHERE (:batch IS NULL OR a.batch = :batch) " +
+            "AND (:courseId IS NULL OR a.courseId = :courseId) " +
+            "AND a.date <= :to " +
+            "AND (a.date > :afterDate OR (a.date = :afterDate AND a.id > :afterId)) " +
+            "ORDER BY a.date, a.id")
+    List<EventResponseDTO> findArchive(
+            @Param("batch") String batch,
+            @Param("courseId") Long courseId,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            @Param("to") LocalDate to,
+            Pageable pageable);
+}
@@ -1,13 +1,19 @@
 package com.LmsProject.AdminInterface.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import com.LmsProject.AdminInterface.DTO.SimpleCourseViewDTO;
 import com.LmsProject.AdminInterface.Model.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -39,13 +45,83 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
   @Query("SELECT COUNT(c) FROM Course c WHERE c.status = :status")
   long countByStatus(Course.CourseStatus status);
 
+  /**
+   * Counts courses not marked with the given status per end date. Each row is
+   * {@code [LocalDate endDate, Long count]}; courses without an end date are grouped under a null date.
+   */
+  @Query("SELECT c.endDate, COUNT(c) FROM Course c WHERE c.status IS NULL OR c.status <> :status GROUP BY c.endDate")
+  List<Object[]> countCoursesByEndDateExcept(@Param("status") Course.CourseStatus status);
+
+  /**
+   * Looks up only the end date and status of a course and locks its row until the end of the
+   * transaction, so concurrent saves of the same course adjust the dashboard counters one at a time.
+   * The list is empty when the course does not exist and holds a single element otherwise.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT c.endDate AS endDate, c.status AS status FROM Course c WHERE c.courseId = :courseId")
+  List<EndDateAndStatus> findEndDateAndStatusByCourseId(@Param("courseId") Long courseId);
+
+  // End dates of the semester's courses not marked with the given status
+  @Query("SELECT c.endDate FROM Course c WHERE c.semester.semesterId = :semesterId "
+          + "AND (c.status IS NULL OR c.status <> :status)")
+  List<LocalDate> findEndDatesBySemesterExcept(
+          @Param("semesterId") String semesterId, @Param("status") Course.CourseStatus status);
+
+  @Modifying
+  @Query("UPDATE Course c SET c.status = :status "
+          + "WHERE c.endDate < :date AND (c.status IS NULL OR c.status <> :status)")
+  int markCompletedBefore(@Param("date") LocalDate date, @Param("status") Course.CourseStatus status);
+
+  @Modifying
+  @Query(value = "UPDATE course SET status = 'COMPLETED' "
+          + "WHERE semester_id = :semesterId AND (status IS NULL OR status <> 'COMPLETED')", nativeQuery = true)
+  int markSemesterCompleted(@Param("semesterId") String semesterId);
+
+  @Query("SELECT c.courseId FROM Course c WHERE c.courseId IN :courseIds")
+  List<Long> findExistingCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+  // Semester of each existing course; courses without a semester have a null semesterId
+  @Query("SELECT c.courseId AS courseId, s.semesterId AS semesterId FROM Course c "
+      + "LEFT JOIN c.semester s WHERE c.courseId IN :courseIds")
+  List<CourseSemester> findCourseSemesters(@Param("courseIds") Collection<Long> courseIds);
+
+  @Query("SELECT c.courseId FROM Course c WHERE c.courseId IN :courseIds AND c.semester.semesterId = :semesterId")
+  List<Long> findCourseIdsInSemester(
+      @Param("courseIds") Collection<Long> courseIds, @Param("semesterId") String semesterId);
+
   @Query("SELECT c FROM Course c WHERE c.semester IS NULL")
   List<Course> findCoursesNotAssignedToSemester();
 
   List<Course> findBySemester_SemesterId(String semesterId);
 
+  /**
+   * Course cards of a semester for a batch: every course of the semester once any student of the
+   * batch is enrolled in it, and nothing otherwise. Cost does not depend on the batch size.
+   */
+  @Query("SELECT DISTINCT new com.LmsProject.AdminInterface.DTO.SimpleCourseViewDTO("
+      + "c.courseId, c.name, c.courseImage, s.semesterId, s.semesterName, s.academicYear) "
+      + "FROM Course c JOIN c.semester s "
+      + "WHERE s.semesterId = :semesterId "
+      + "AND EXISTS (SELECT 1 FROM Enrollment e "
+      + "WHERE e.semester.semesterId = :semesterId AND e.student.batch = :batch) "
+      + "ORDER BY c.courseId")
+  List<SimpleCourseViewDTO> findCourseViewBySemesterAndBatch(
+      @Param("semesterId") String semesterId, @Param("batch") String batch);
+
   boolean existsByName(String name);
 
 
     List<Course> findByLecturers_PersonId(Long lecturerId);
+
+  interface CourseSemester {
+    Long getCourseId();
+
+    String getSemesterId();
+  }
+
+  interface EndDateAndStatus {
+    LocalDate getEndDate();
+
+    Course.CourseStatus getStatus();
+  }
 }
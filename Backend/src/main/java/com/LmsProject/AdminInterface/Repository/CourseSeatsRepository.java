@@ -0,0 +1,53 @@
+package com.LmsProject.AdminInterface.Repository;
+
+import com.LmsProject.AdminInterface.Model.CourseSeats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CourseSeatsRepository extends JpaRepository<CourseSeats, Long> {
+
+    /**
+     * Takes one seat if the course has one free, creating its row on first use. Concurrent callers
+     * only wait on the course's row lock; returns 1 if a seat was taken, 0 if the course is full.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO course_seats (course_id, taken) " +
+            "SELECT c.course_id, 1 FROM course c " +
+            "WHERE c.course_id = :courseId AND (c.capacity IS NULL OR c.capacity > 0) " +
+            "ON CONFLICT (course_id) DO UPDATE SET taken = course_seats.taken + 1 " +
+            "WHERE course_seats.taken < COALESCE(" +
+            "(SELECT c.capacity FROM course c WHERE c.course_id = EXCLUDED.course_id), 2147483647)",
+            nativeQuery = true)
+    int takeSeat(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query(value = "UPDATE course_seats SET taken = taken - 1 WHERE course_id = :courseId AND taken > 0",
+            nativeQuery = true)
+    int releaseSeat(@Param("courseId") Long courseId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM course_seats)", nativeQuery = true)
+    boolean hasEntries();
+
+    // Blocks seat allocation until the end of the transaction, but not reads
+    @Modifying
+    @Query(value = "LOCK TABLE course_seats IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockSeats();
+
+    /**
+     * Recounts taken seats from enrollments in one statement, like
+     * {@link EnrollmentCountRepository#reconcile()}. Returns the number of rows fixed.
+     */
+    @Query(value = "WITH actual AS (" +
+            "SELECT course_id, COUNT(*) AS taken FROM enrollments GROUP BY course_id), " +
+            "removed AS (DELETE FROM course_seats cs WHERE NOT EXISTS (" +
+            "SELECT 1 FROM actual a WHERE a.course_id = cs.course_id) RETURNING 1), " +
+            "fixed AS (INSERT INTO course_seats (course_id, taken) SELECT course_id, taken FROM actual " +
+            "ON CONFLICT (course_id) DO UPDATE SET taken = EXCLUDED.taken " +
+            "WHERE course_seats.taken <> EXCLUDED.taken RETURNING 1) " +
+            "SELECT CAST((SELECT COUNT(*) FROM removed) + (SELECT COUNT(*) FROM fixed) AS integer)", nativeQuery = true)
+    int reconcile();
+}
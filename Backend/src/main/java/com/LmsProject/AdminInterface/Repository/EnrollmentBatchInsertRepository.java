@@ -0,0 +1,56 @@
+package com.LmsProject.AdminInterface.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based JDBC inserts for large numbers of enrollments, such as CSV imports.
+ *
+ * <p>Enrollment ids are IDENTITY columns, which keeps Hibernate from batching inserts. Here a whole
+ * chunk is sent as column arrays in a single statement; rows that already exist are skipped and the
+ * inserted ones are returned, so callers can tell them apart. The same statement adds them to the
+ * enrollment counters. Callers must run inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EnrollmentBatchInsertRepository {
+
+    private static final String INSERT_ROWS =
+            "WITH inserted AS (" +
+            "INSERT INTO enrollments (student_id, semester_id, course_id, enrollment_date, status) " +
+            "SELECT r.student_id, r.semester_id, r.course_id, CURRENT_DATE, r.status " +
+            "FROM unnest(CAST(? AS bigint[]), CAST(? AS varchar[]), CAST(? AS bigint[]), CAST(? AS varchar[])) " +
+            "AS r(student_id, semester_id, course_id, status) " +
+            "ON CONFLICT (student_id, semester_id, course_id) DO NOTHING " +
+            "RETURNING student_id, semester_id, course_id, status), " +
+            EnrollmentCountRepository.COUNT_INSERTED +
+            "SELECT student_id, semester_id, course_id, status FROM inserted";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Rows must not repeat a (student, semester, course) key; returns the rows that were inserted
+    public List<Row> insertIgnoringExisting(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_ROWS);
+            statement.setArray(1, connection.createArrayOf("bigint", rows.stream().map(Row::studentId).toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar", rows.stream().map(Row::semesterId).toArray()));
+            statement.setArray(3, connection.createArrayOf("bigint", rows.stream().map(Row::courseId).toArray()));
+            statement.setArray(4, connection.createArrayOf("varchar", rows.stream().map(Row::status).toArray()));
+            return statement;
+        }, (rs, rowNum) -> new Row(
+                rs.getLong("student_id"),
+                rs.getString("semester_id"),
+                rs.getLong("course_id"),
+                rs.getString("status")));
+    }
+
+    public record Row(Long studentId, String semesterId, Long courseId, String status) {
+    }
+}
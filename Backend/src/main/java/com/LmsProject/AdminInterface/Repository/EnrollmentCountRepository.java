@@ -0,0 +1,96 @@
+package com.LmsProject.AdminInterface.Repository;
+
+import java.util.List;
+
+import com.LmsProject.AdminInterface.Model.EnrollmentCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EnrollmentCountRepository extends JpaRepository<EnrollmentCount, EnrollmentCount.Key> {
+
+    /**
+     * CTEs that add the rows of a preceding data-modifying CTE named {@code inserted} (with
+     * student_id, semester_id, course_id and status columns) to the counters and to the courses'
+     * taken seats, for set-based enrollment inserts. Postgres runs them even though the main query
+     * does not reference them. These administrative inserts count seats but do not enforce capacity.
+     * Postgres locks the target tables in the order the CTEs are written, so seats come before
+     * counters, the lock order of every enrollment write and of the reconcile job.
+     */
+    String COUNT_INSERTED = "seated AS (" +
+            "INSERT INTO course_seats (course_id, taken) " +
+            "SELECT course_id, COUNT(*) FROM inserted GROUP BY course_id " +
+            "ON CONFLICT (course_id) DO UPDATE SET taken = course_seats.taken + EXCLUDED.taken), " +
+            "counted AS (" +
+            "INSERT INTO enrollment_counts (course_id, semester_id, batch, active_count, completed_count) " +
+            "SELECT i.course_id, i.semester_id, COALESCE(s.batch, ''), " +
+            "COUNT(*) FILTER (WHERE i.status = 'ACTIVE'), COUNT(*) FILTER (WHERE i.status = 'COMPLETED') " +
+            "FROM inserted i JOIN student s ON s.person_id = i.student_id " +
+            "GROUP BY i.course_id, i.semester_id, COALESCE(s.batch, '') " +
+            "ON CONFLICT (course_id, semester_id, batch) DO UPDATE SET " +
+            "active_count = enrollment_counts.active_count + EXCLUDED.active_count, " +
+            "completed_count = enrollment_counts.completed_count + EXCLUDED.completed_count) ";
+
+    // Adds (or, with negative values, removes) enrollments of one course, semester and batch
+    @Modifying
+    @Query(value = "INSERT INTO enrollment_counts (course_id, semester_id, batch, active_count, completed_count) " +
+            "VALUES (:courseId, :semesterId, :batch, :active, :completed) " +
+            "ON CONFLICT (course_id, semester_id, batch) DO UPDATE SET " +
+            "active_count = enrollment_counts.active_count + EXCLUDED.active_count, " +
+            "completed_count = enrollment_counts.completed_count + EXCLUDED.completed_count", nativeQuery = true)
+    void add(
+            @Param("courseId") Long courseId,
+            @Param("semesterId") String semesterId,
+            @Param("batch") String batch,
+            @Param("active") long active,
+            @Param("completed") long completed);
+
+    @Query("SELECT COALESCE(SUM(c.activeCount + c.completedCount), 0) FROM EnrollmentCount c " +
+            "WHERE c.courseId = :courseId AND c.semesterId = :semesterId")
+    long countCourse(@Param("courseId") Long courseId, @Param("semesterId") String semesterId);
+
+    List<EnrollmentCount> findBySemesterIdAndBatch(String semesterId, String batch);
+
+    @Query("SELECT COALESCE(SUM(c.activeCount), 0) AS active, COALESCE(SUM(c.completedCount), 0) AS completed " +
+            "FROM EnrollmentCount c")
+    Totals findTotals();
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM enrollment_counts)", nativeQuery = true)
+    boolean hasEntries();
+
+    // Blocks counter writes (which take ROW EXCLUSIVE) until the end of the transaction, but not reads
+    @Modifying
+    @Query(value = "LOCK TABLE enrollment_counts IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockCounts();
+
+    /**
+     * Recounts every counter from enrollments in one statement: wrong counters are overwritten,
+     * missing ones inserted and ones without enrollments deleted. Returns the number of rows fixed.
+     */
+    @Query(value = "WITH actual AS (" +
+            "SELECT e.course_id, e.semester_id, COALESCE(s.batch, '') AS batch, " +
+            "COUNT(*) FILTER (WHERE e.status = 'ACTIVE') AS active_count, " +
+            "COUNT(*) FILTER (WHERE e.status = 'COMPLETED') AS completed_count " +
+            "FROM enrollments e JOIN student s ON s.person_id = e.student_id " +
+            "GROUP BY e.course_id, e.semester_id, COALESCE(s.batch, '')), " +
+            "removed AS (DELETE FROM enrollment_counts c WHERE NOT EXISTS (" +
+            "SELECT 1 FROM actual a WHERE a.course_id = c.course_id AND a.semester_id = c.semester_id " +
+            "AND a.batch = c.batch) RETURNING 1), " +
+            "fixed AS (INSERT INTO enrollment_counts (course_id, semester_id, batch, active_count, completed_count) " +
+            "SELECT course_id, semester_id, batch, active_count, completed_count FROM actual " +
+            "ON CONFLICT (course_id, semester_id, batch) DO UPDATE SET " +
+            "active_count = EXCLUDED.active_count, completed_count = EXCLUDED.completed_count " +
+            "WHERE enrollment_counts.active_count <> EXCLUDED.active_count " +
+            "OR enrollment_counts.completed_count <> EXCLUDED.completed_count RETURNING 1) " +
+            "SELECT CAST((SELECT COUNT(*) FROM removed) + (SELECT COUNT(*) FROM fixed) AS integer)", nativeQuery = true)
+    int reconcile();
+
+    interface Totals {
+        long getActive();
+
+        long getCompleted();
+    }
+}
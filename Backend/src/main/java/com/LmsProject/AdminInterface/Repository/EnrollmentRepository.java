@@ -1,25 +1,42 @@
 package com.LmsProject.AdminInterface.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import com.LmsProject.AdminInterface.DTO.CourseRosterStudentDTO;
+import com.LmsProject.AdminInterface.DTO.EnrollmentDTO;
 import com.LmsProject.AdminInterface.Model.Course;
 import com.LmsProject.AdminInterface.Model.Enrollment;
 import com.LmsProject.AdminInterface.Model.Semester;
 import com.LmsProject.AdminInterface.Model.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
-    List<Enrollment> findByStudent_PersonId(Long studentId);
 
-  boolean existsByStudentAndSemester(Student student, Semester semester);
+  // Rest of the completeSemester statements: moves the rows of the "updated" CTE between the counters' columns
+  // and reports them per batch ('' for students without one)
+  String COMPLETE_UPDATED = "recounted AS (" +
+          "UPDATE enrollment_counts c SET active_count = c.active_count - u.moved, " +
+          "completed_count = c.completed_count + u.moved " +
+          "FROM (SELECT course_id, semester_id, COALESCE(batch, '') AS batch, COUNT(*) AS moved FROM updated " +
+          "GROUP BY course_id, semester_id, COALESCE(batch, '')) u " +
+          "WHERE c.course_id = u.course_id AND c.semester_id = u.semester_id AND c.batch = u.batch) " +
+          "SELECT batch AS \"batch\", COUNT(*) AS \"count\" FROM updated GROUP BY batch";
 
-    List<Enrollment> findBySemester_SemesterIdAndSemester_Courses_CourseIdAndStudent_Batch(
-            String semesterId, Long courseId, String batch);
+  // Rest of the seedNextSemester statements, after their SELECT of the rows to insert
+  String SEED_INSERTED = "ON CONFLICT (student_id, semester_id, course_id) DO NOTHING " +
+          "RETURNING student_id, semester_id, course_id, status), " +
+          EnrollmentCountRepository.COUNT_INSERTED +
+          "SELECT COALESCE(s.batch, '') AS \"batch\", COUNT(*) AS \"count\" FROM inserted i " +
+          "JOIN student s ON s.person_id = i.student_id GROUP BY COALESCE(s.batch, '')";
 
-    List<Enrollment> findBySemester_SemesterIdAndStudent_Batch(String semesterId, String batch);
+    List<Enrollment> findByStudent_PersonId(Long studentId);
+
+  boolean existsByStudentAndSemester(Student student, Semester semester);
 
     @Query("SELECT e FROM Enrollment e WHERE " +
             "e.student.personId = :studentId AND " +
@@ -31,7 +48,14 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
             @Param("courseId") Long courseId);
 
   List<Enrollment> findByStudent_UsernameAndCourseIsNotNull(String username);
-  List<Enrollment> findByStudent_Username(String username);
+  // A student's enrollments with their own course, semester and student columns, in one statement
+  @Query("SELECT new com.LmsProject.AdminInterface.DTO.EnrollmentDTO(" +
+          "sem.semesterName, c.courseId, c.name, e.status, s.name, s.batch, s.username, s.personId, " +
+          "sem.semesterId, sem.academicYear) " +
+          "FROM Enrollment e JOIN e.student s JOIN e.semester sem JOIN e.course c " +
+          "WHERE s.username = :username " +
+          "ORDER BY sem.academicYear, sem.semesterId, c.courseId")
+  List<EnrollmentDTO> findEnrollmentDetailsByUsername(@Param("username") String username);
 
   @Query("SELECT COUNT(e) > 0 FROM Enrollment e WHERE " +
           "e.student.username = :username AND " +
@@ -43,8 +67,145 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
   List<Enrollment> findByCourse_CourseIdAndSemester_SemesterId(Long courseId, String semesterId);
 
   List<Enrollment> findByStudent_PersonIdAndSemester_SemesterId(Long studentId, String semesterId);
-  int countByCourse_CourseIdAndSemester_SemesterId(Long courseId, String semesterId);
 
   boolean existsByStudentAndSemesterAndCourse(Student student, Semester semester, Course course);
 
+  // Existing enrollment keys among the given students, semesters and courses, for one duplicate check per batch
+  @Query("SELECT e.student.personId AS studentId, e.semester.semesterId AS semesterId, e.course.courseId AS courseId " +
+          "FROM Enrollment e WHERE e.student.personId IN :studentIds AND e.semester.semesterId IN :semesterIds " +
+          "AND e.course.courseId IN :courseIds")
+  List<EnrollmentKey> findKeys(
+          @Param("studentIds") Collection<Long> studentIds,
+          @Param("semesterIds") Collection<String> semesterIds,
+          @Param("courseIds") Collection<Long> courseIds);
+
+  /**
+   * Enrolls every student of a batch in the given courses of a semester in one statement. Courses
+   * outside the semester are ignored and existing enrollments are left alone. The created rows are
+   * added to the enrollment counters by the same statement. Returns the student id of each row created.
+   */
+  @Query(value = "WITH inserted AS (" +
+          "INSERT INTO enrollments (student_id, semester_id, course_id, enrollment_date, status) " +
+          "SELECT s.person_id, c.semester_id, c.course_id, CURRENT_DATE, CAST(:status AS varchar) " +
+          "FROM student s CROSS JOIN course c " +
+          "WHERE s.batch = :batch AND c.semester_id = :semesterId AND c.course_id IN (:courseIds) " +
+          "ON CONFLICT (student_id, semester_id, course_id) DO NOTHING " +
+          "RETURNING student_id, semester_id, course_id, status), " +
+          EnrollmentCountRepository.COUNT_INSERTED +
+          "SELECT student_id FROM inserted", nativeQuery = true)
+  List<Long> enrollBatch(
+          @Param("batch") String batch,
+          @Param("semesterId") String semesterId,
+          @Param("courseIds") Collection<Long> courseIds,
+          @Param("status") String status);
+
+  /**
+   * Marks the ACTIVE enrollments of the batches in a semester COMPLETED and moves them between the
+   * counters' columns, in one statement. Returns the number of enrollments completed per batch.
+   */
+  @Query(value = "WITH updated AS (" +
+          "UPDATE enrollments e SET status = 'COMPLETED' FROM student s " +
+          "WHERE s.person_id = e.student_id AND e.semester_id = :semesterId AND e.status = 'ACTIVE' " +
+          "AND s.batch IN (:batches) " +
+          "RETURNING e.course_id, e.semester_id, s.batch), " +
+          COMPLETE_UPDATED, nativeQuery = true)
+  List<BatchCount> completeSemester(
+          @Param("semesterId") String semesterId,
+          @Param("batches") Collection<String> batches);
+
+  // Same as completeSemester for every student of the semester; students without a batch are reported under ''
+  @Query(value = "WITH updated AS (" +
+          "UPDATE enrollments e SET status = 'COMPLETED' FROM student s " +
+          "WHERE s.person_id = e.student_id AND e.semester_id = :semesterId AND e.status = 'ACTIVE' " +
+          "RETURNING e.course_id, e.semester_id, COALESCE(s.batch, '') AS batch), " +
+          COMPLETE_UPDATED, nativeQuery = true)
+  List<BatchCount> completeWholeSemester(@Param("semesterId") String semesterId);
+
+  /**
+   * Enrolls the students of the batches who were enrolled in {@code semesterId} in every course of
+   * {@code nextSemesterId} as ACTIVE, in one statement that also updates counters and seats.
+   * Existing enrollments are left alone. Returns the number of enrollments created per batch.
+   */
+  @Query(value = "WITH inserted AS (" +
+          "INSERT INTO enrollments (student_id, semester_id, course_id, enrollment_date, status) " +
+          "SELECT s.person_id, c.semester_id, c.course_id, CURRENT_DATE, 'ACTIVE' " +
+          "FROM student s JOIN course c ON c.semester_id = :nextSemesterId " +
+          "WHERE s.batch IN (:batches) " +
+          "AND EXISTS (SELECT 1 FROM enrollments e WHERE e.student_id = s.person_id AND e.semester_id = :semesterId) " +
+          SEED_INSERTED, nativeQuery = true)
+  List<BatchCount> seedNextSemester(
+          @Param("semesterId") String semesterId,
+          @Param("nextSemesterId") String nextSemesterId,
+          @Param("batches") Collection<String> batches);
+
+  // Same as seedNextSemester for every student of the semester; students without a batch are reported under ''
+  @Query(value = "WITH inserted AS (" +
+          "INSERT INTO enrollments (student_id, semester_id, course_id, enrollment_date, status) " +
+          "SELECT s.person_id, c.semester_id, c.course_id, CURRENT_DATE, 'ACTIVE' " +
+          "FROM student s JOIN course c ON c.semester_id = :nextSemesterId " +
+          "WHERE EXISTS (SELECT 1 FROM enrollments e WHERE e.student_id = s.person_id AND e.semester_id = :semesterId) " +
+          SEED_INSERTED, nativeQuery = true)
+  List<BatchCount> seedWholeNextSemester(
+          @Param("semesterId") String semesterId,
+          @Param("nextSemesterId") String nextSemesterId);
+
+  @Query("SELECT e.status FROM Enrollment e " +
+          "WHERE e.course.courseId = :courseId AND e.semester.semesterId = :semesterId AND e.student.batch = :batch " +
+          "ORDER BY e.enrollmentId")
+  List<Enrollment.EnrollmentStatus> findCourseRosterStatuses(
+          @Param("courseId") Long courseId,
+          @Param("semesterId") String semesterId,
+          @Param("batch") String batch,
+          Pageable pageable);
+
+  /**
+   * One keyset page of a course roster ordered by (name, student id), starting after the cursor.
+   * {@code filter} is a lower-case LIKE pattern matched against name and username, or null.
+   */
+  @Query("SELECT new com.LmsProject.AdminInterface.DTO.CourseRosterStudentDTO(" +
+          "s.personId, s.name, s.username, e.status, e.enrollmentDate) " +
+          "FROM Enrollment e JOIN e.student s " +
+          "WHERE e.course.courseId = :courseId AND e.semester.semesterId = :semesterId AND s.batch = :batch " +
+          "AND (:filter IS NULL OR LOWER(s.name) LIKE :filter ESCAPE '\\' OR LOWER(s.username) LIKE :filter ESCAPE '\\') " +
+          "AND (s.name > :afterValue OR (s.name = :afterValue AND s.personId > :afterId)) " +
+          "ORDER BY s.name, s.personId")
+  List<CourseRosterStudentDTO> findCourseRosterByName(
+          @Param("courseId") Long courseId,
+          @Param("semesterId") String semesterId,
+          @Param("batch") String batch,
+          @Param("filter") String filter,
+          @Param("afterValue") String afterValue,
+          @Param("afterId") Long afterId,
+          Pageable pageable);
+
+  // Same as findCourseRosterByName, ordered by (username, student id)
+  @Query("SELECT new com.LmsProject.AdminInterface.DTO.CourseRosterStudentDTO(" +
+          "s.personId, s.name, s.username, e.status, e.enrollmentDate) " +
+          "FROM Enrollment e JOIN e.student s " +
+          "WHERE e.course.courseId = :courseId AND e.semester.semesterId = :semesterId AND s.batch = :batch " +
+          "AND (:filter IS NULL OR LOWER(s.name) LIKE :filter ESCAPE '\\' OR LOWER(s.username) LIKE :filter ESCAPE '\\') " +
+          "AND (s.username > :afterValue OR (s.username = :afterValue AND s.personId > :afterId)) " +
+          "ORDER BY s.username, s.personId")
+  List<CourseRosterStudentDTO> findCourseRosterByUsername(
+          @Param("courseId") Long courseId,
+          @Param("semesterId") String semesterId,
+          @Param("batch") String batch,
+          @Param("filter") String filter,
+          @Param("afterValue") String afterValue,
+          @Param("afterId") Long afterId,
+          Pageable pageable);
+
+  interface EnrollmentKey {
+    Long getStudentId();
+
+    String getSemesterId();
+
+    Long getCourseId();
+  }
+
+  interface BatchCount {
+    String getBatch();
+
+    long getCount();
+  }
 }
@@ -0,0 +1,67 @@
+package com.LmsProject.AdminInterface.Repository;
+
+import java.util.List;
+
+import com.LmsProject.AdminInterface.Model.BatchEvent;
+import com.LmsProject.AdminInterface.Model.CourseEvent;
+import com.LmsProject.AdminInterface.Model.Event;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Batched JDBC inserts for large numbers of events.
+ *
+ * <p>{@link Event} ids are IDENTITY columns, which keeps Hibernate from batching inserts. Here ids are
+ * reserved from the column's sequence in one round trip and the rows of each table are written with
+ * batched statements. Callers must run inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventBatchInsertRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> reserveIds(int count) {
+        return jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('events', 'id')) FROM generate_series(1, ?)",
+                Long.class, count);
+    }
+
+    // Events must already carry ids from reserveIds
+    public void insertCourseEvents(List<CourseEvent> events) {
+        insertEvents(events);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO course_events (id, course_id, batch) VALUES (?, ?, ?)",
+                events, BATCH_SIZE, (ps, event) -> {
+                    ps.setLong(1, event.getId());
+                    ps.setLong(2, event.getCourse().getCourseId());
+                    ps.setString(3, event.getBatch());
+                });
+    }
+
+    // Events must already carry ids from reserveIds
+    public void insertBatchEvents(List<BatchEvent> events) {
+        insertEvents(events);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO batch_events (id, batch) VALUES (?, ?)",
+                events, BATCH_SIZE, (ps, event) -> {
+                    ps.setLong(1, event.getId());
+                    ps.setString(2, event.getBatch());
+                });
+    }
+
+    private void insertEvents(List<? extends Event> events) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO events (id, title, date, description, created_by) VALUES (?, ?, ?, ?, ?)",
+                events, BATCH_SIZE, (ps, event) -> {
+                    ps.setLong(1, event.getId());
+                    ps.setString(2, event.getTitle());
+                    ps.setObject(3, event.getDate());
+                    ps.setString(4, event.getDescription());
+                    ps.setString(5, event.getCreatedBy());
+                });
+    }
+}
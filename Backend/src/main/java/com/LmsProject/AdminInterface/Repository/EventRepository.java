@@ -0,0 +1,337 @@
+package com.LmsProject.AdminInterface.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.LmsProject.AdminInterface.DTO.EventBasicResponseDTO;
+import com.LmsProject.AdminInterface.DTO.EventResponseDTO;
+import com.LmsProject.AdminInterface.Model.Event;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Polymorphic read queries over the whole {@link Event} hierarchy.
+ *
+ * <p>Timeline queries return course and batch events in one statement, projected straight into DTOs
+ * and ordered by (date, id). They start strictly after the (afterDate, afterId) cursor and stop at
+ * {@code to}; the page size comes from the {@link Pageable}.
+ */
+@Repository
+public interface EventRepository extends JpaRepository<Event, Long> {
+
+    /**
+     * Events shown to a batch for a semester: the batch's course events for courses of the semester
+     * plus the events addressed to the whole batch.
+     */
+    @Query("SELECT new com.LmsProject.AdminInterface.DTO.EventBasicResponseDTO(" +
+            "e.id, e.title, e.date, c.courseId, " +
+            "CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END) " +
+            "FROM Event e " +
+            "LEFT JOIN CourseEvent ce ON ce.id = e.id " +
+            "LEFT JOIN ce.course c " +
+            "LEFT JOIN c.semester s " +
+            "LEFT JOIN BatchEvent be ON be.id = e.id " +
+            "WHERE ((ce.batch = :batch AND s.academicYear = :academicYear AND s.semesterId = :semesterId) " +
+            "OR be.batch = :batch) " +
+            "AND e.date <= :to " +
+            "AND (e.date > :afterDate OR (e.date = :afterDate AND e.id > :afterId)) " +
+            "ORDER BY e.date, e.id")
+    List<EventBasicResponseDTO> findSemesterTimeline(
+            @Param("academicYear") String academicYear,
+            @Param("semesterId") String semesterId,
+            @Param("batch") String batch,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            @Param("to") LocalDate to,
+            Pageable pageable);
+
+    /**
+     * Per-day counts and titles of the events {@link #findSemesterTimeline} would return for
+     * [from, to], aggregated in one statement. Each day's events are a JSON array of
+     * {@code {id, title, courseId, eventType}} objects ordered by id.
+     */
+    @Query(value = "SELECT e.date AS date, COUNT(*) AS \"eventCount\", " +
+            "CAST(json_agg(json_build_object(" +
+            "'id', e.id, 'title', e.title, 'courseId', ce.course_id, " +
+            "'eventType', CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END) " +
+            "ORDER BY e.id) AS text) AS events " +
+            "FROM events e " +
+            "LEFT JOIN course_events ce ON ce.id = e.id " +
+            "LEFT JOIN course c ON c.course_id = ce.course_id " +
+            "LEFT JOIN semesters s ON s.semester_id = c.semester_id " +
+            "LEFT JOIN batch_events be ON be.id = e.id " +
+            "WHERE ((ce.batch = :batch AND s.academic_year = :academicYear AND s.semester_id = :semesterId) " +
+            "OR be.batch = :batch) " +
+            "AND e.date BETWEEN :from AND :to " +
+            "GROUP BY e.date " +
+            "ORDER BY e.date", nativeQuery = true)
+    List<CalendarDay> findSemesterCalendar(
+            @Param("academicYear") String academicYear,
+            @Param("semesterId") String semesterId,
+            @Param("batch") String batch,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * Events shown to a student: the batch's course events for the given courses plus the events
+     * addressed to the whole batch.
+     */
+    @Query("SELECT new com.LmsProject.AdminInterface.DTO.EventBasicResponseDTO(" +
+            "e.id, e.title, e.date, c.courseId, " +
+            "CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END) " +
+            "FROM Event e " +
+            "LEFT JOIN CourseEvent ce ON ce.id = e.id " +
+            "LEFT JOIN ce.course c " +
+            "LEFT JOIN BatchEvent be ON be.id = e.id " +
+            "WHERE ((ce.batch = :batch AND c.courseId IN :courseIds) OR be.batch = :batch) " +
+            "AND e.date <= :to " +
+            "AND (e.date > :afterDate OR (e.date = :afterDate AND e.id > :afterId)) " +
+            "ORDER BY e.date, e.id")
+    List<EventBasicResponseDTO> findCourseTimeline(
+            @Param("courseIds") List<Long> courseIds,
+            @Param("batch") String batch,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            @Param("to") LocalDate to,
+            Pageable pageable);
+
+    /**
+     * Full event rows shown to a batch for a semester, with the course and semester columns joined in.
+     */
+    @Query("SELECT new com.LmsProject.AdminInterface.DTO.EventResponseDTO(" +
+            "e.id, e.title, e.date, e.description, e.createdBy, " +
+            "CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END, " +
+            "c.courseId, s.semesterId, c.name, s.semesterName, s.academicYear, COALESCE(ce.batch, be.batch)) " +
+            "FROM Event e " +
+            "LEFT JOIN CourseEvent ce ON ce.id = e.id " +
+            "LEFT JOIN ce.course c " +
+            "LEFT JOIN c.semester s " +
+            "LEFT JOIN BatchEvent be ON be.id = e.id " +
+            "WHERE ((ce.batch = :batch AND s.academicYear = :academicYear AND s.semesterId = :semesterId) " +
+            "OR be.batch = :batch) " +
+            "AND e.date <= :to " +
+            "AND (e.date > :afterDate OR (e.date = :afterDate AND e.id > :afterId)) " +
+            "ORDER BY e.date, e.id")
+    List<EventResponseDTO> findSemesterEventDetails(
+            @Param("academicYear") String academicYear,
+            @Param("semesterId") String semesterId,
+            @Param("batch") String batch,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            @Param("to") LocalDate to,
+            Pageable pageable);
+
+    /**
+     * Full rows of the events addressed to whole batches, across all batches. Batch events have no
+     * course or semester, so those columns are always null.
+     */
+    @Query("SELECT new com.LmsProject.AdminInterface.DTO.EventResponseDTO(" +
+            "e.id, e.title, e.date, e.description, e.createdBy, 'BATCH_EVENT', " +
+            "CAST(NULL AS Long), CAST(NULL AS String), CAST(NULL AS String), CAST(NULL AS String), " +
+            "CAST(NULL AS String), be.batch) " +
+            "FROM Event e " +
+            "JOIN BatchEvent be ON be.id = e.id " +
+            "WHERE e.date <= :to " +
+            "AND (e.date > :afterDate OR (e.date = :afterDate AND e.id > :afterId)) " +
+            "ORDER BY e.date, e.id")
+    List<EventResponseDTO> findBatchEventDetails(
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            @Param("to") LocalDate to,
+            Pageable pageable);
+
+    /**
+     * Full row of one event dated on or after {@code from}, with the course and semester columns joined in.
+     */
+    @Query("SELECT new com.LmsProject.AdminInterface.DTO.EventResponseDTO(" +
+            "e.id, e.title, e.date, e.description, e.createdBy, " +
+            "CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END, " +
+            "c.courseId, s.semesterId, c.name, s.semesterName, s.academicYear, COALESCE(ce.batch, be.batch)) " +
+            "FROM Event e " +
+            "LEFT JOIN CourseEvent ce ON ce.id = e.id " +
+            "LEFT JOIN ce.course c " +
+            "LEFT JOIN c.semester s " +
+            "LEFT JOIN BatchEvent be ON be.id = e.id " +
+            "WHERE e.id = :eventId AND e.date >= :from")
+    Optional<EventResponseDTO> findEventDetails(@Param("eventId") Long eventId, @Param("from") LocalDate from);
+
+    /**
+     * Whether a student may see an event dated on or after {@code from}: a course event of a course
+     * they are enrolled in, or an event addressed to their batch once they have any enrollment.
+     */
+    @Query("SELECT COUNT(e) > 0 FROM Event e " +
+            "LEFT JOIN CourseEvent ce ON ce.id = e.id " +
+            "LEFT JOIN BatchEvent be ON be.id = e.id " +
+            "WHERE e.id = :eventId AND e.date >= :from " +
+            "AND (EXISTS (SELECT 1 FROM Enrollment en " +
+            "WHERE en.student.username = :username AND en.course.courseId = ce.course.courseId) " +
+            "OR EXISTS (SELECT 1 FROM Enrollment en " +
+            "WHERE en.student.username = :username AND en.student.batch = be.batch))")
+    boolean isVisibleToStudent(
+            @Param("eventId") Long eventId,
+            @Param("username") String username,
+            @Param("from") LocalDate from);
+
+    /**
+     * Full rows of every event a batch sees from a date onwards, read through a database cursor.
+     * Callers must consume the stream inside a transaction and close it.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.LmsProject.AdminInterface.DTO.EventResponseDTO(" +
+            "e.id, e.title, e.date, e.description, e.createdBy, " +
+            "CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END, " +
+            "c.courseId, s.semesterId, c.name, s.semesterName, s.academicYear, COALESCE(ce.batch, be.batch)) " +
+            "FROM Event e " +
+            "LEFT JOIN CourseEvent ce ON ce.id = e.id " +
+            "LEFT JOIN ce.course c " +
+            "LEFT JOIN c.semester s " +
+            "LEFT JOIN BatchEvent be ON be.id = e.id " +
+            "WHERE (ce.batch = :batch OR be.batch = :batch) AND e.date >= :from " +
+            "ORDER BY e.date, e.id")
+    Stream<EventResponseDTO> streamBatchCalendar(@Param("batch") String batch, @Param("from") LocalDate from);
+
+    /**
+     * Full rows of every event a student sees from a date onwards (their batch's course events for
+     * courses they are enrolled in, and their batch's events), read through a database cursor.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.LmsProject.AdminInterface.DTO.EventResponseDTO(" +
+            "e.id, e.title, e.date, e.description, e.createdBy, " +
+            "CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END, " +
+            "c.courseId, s.semesterId, c.name, s.semesterName, s.academicYear, COALESCE(ce.batch, be.batch)) " +
+            "FROM Event e " +
+            "LEFT JOIN CourseEvent ce ON ce.id = e.id " +
+            "LEFT JOIN ce.course c " +
+            "LEFT JOIN c.semester s " +
+            "LEFT JOIN BatchEvent be ON be.id = e.id " +
+            "WHERE ((ce.batch = :batch AND EXISTS (SELECT 1 FROM Enrollment en " +
+            "WHERE en.student.username = :username AND en.course.courseId = c.courseId)) " +
+            "OR (be.batch = :batch AND EXISTS (SELECT 1 FROM Enrollment en WHERE en.student.username = :username))) " +
+            "AND e.date >= :from " +
+            "ORDER BY e.date, e.id")
+    Stream<EventResponseDTO> streamStudentCalendar(
+            @Param("username") String username,
+            @Param("batch") String batch,
+            @Param("from") LocalDate from);
+
+    /**
+     * Events whose title or description match a web-style search query ("mid-term", "lab -cancelled",
+     * quoted phrases), best match first. The match expression must stay identical to the
+     * idx_events_search expression index in schema.sql for the index to be used. Null filters are
+     * ignored; a semester filter leaves out events addressed to whole batches.
+     */
+    @Query(value = "SELECT e.id AS \"id\", e.title AS \"title\", e.date AS \"date\", " +
+            "e.description AS \"description\", " +
+            "CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END AS \"eventType\", " +
+            "ce.course_id AS \"courseId\", c.name AS \"courseName\", COALESCE(ce.batch, be.batch) AS \"batch\", " +
+            "CAST(ts_rank(to_tsvector('english', e.title || ' ' || e.description), q) AS double precision) AS \"rank\" " +
+            "FROM events e " +
+            "CROSS JOIN websearch_to_tsquery('english', :query) q " +
+            "LEFT JOIN course_events ce ON ce.id = e.id " +
+            "LEFT JOIN course c ON c.course_id = ce.course_id " +
+            "LEFT JOIN batch_events be ON be.id = e.id " +
+            "WHERE to_tsvector('english', e.title || ' ' || e.description) @@ q " +
+            "AND (CAST(:batch AS text) IS NULL OR COALESCE(ce.batch, be.batch) = CAST(:batch AS text)) " +
+            "AND (CAST(:semesterId AS text) IS NULL OR c.semester_id = CAST(:semesterId AS text)) " +
+            "AND (CAST(:from AS date) IS NULL OR e.date >= CAST(:from AS date)) " +
+            "AND (CAST(:to AS date) IS NULL OR e.date <= CAST(:to AS date)) " +
+            "ORDER BY \"rank\" DESC, e.date DESC, e.id", nativeQuery = true)
+    List<EventSearchHit> searchEvents(
+            @Param("query") String query,
+            @Param("batch") String batch,
+            @Param("semesterId") String semesterId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Pageable pageable);
+
+    // One row of searchEvents
+    interface EventSearchHit {
+        Long getId();
+
+        String getTitle();
+
+        LocalDate getDate();
+
+        String getDescription();
+
+        String getEventType();
+
+        Long getCourseId();
+
+        String getCourseName();
+
+        String getBatch();
+
+        Double getRank();
+    }
+
+    /**
+     * Deletes one event from every table of the hierarchy, and from the student feed, in a single
+     * statement. Returns the deleted row, or nothing if the id does not exist.
+     */
+    @Query(value = "WITH target AS (" +
+            "SELECT e.id, e.date, COALESCE(ce.batch, be.batch) AS batch, " +
+            "CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END AS event_type " +
+            "FROM events e " +
+            "LEFT JOIN course_events ce ON ce.id = e.id " +
+            "LEFT JOIN batch_events be ON be.id = e.id " +
+            "WHERE e.id = :eventId), " +
+            DELETE_TARGETS, nativeQuery = true)
+    List<DeletedEvent> deleteEvent(@Param("eventId") Long eventId);
+
+    /**
+     * Deletes every event matching all of the given filters in a single statement; null filters are
+     * ignored. Returns the deleted rows.
+     */
+    @Query(value = "WITH target AS (" +
+            "SELECT e.id, e.date, COALESCE(ce.batch, be.batch) AS batch, " +
+            "CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END AS event_type " +
+            "FROM events e " +
+            "LEFT JOIN course_events ce ON ce.id = e.id " +
+            "LEFT JOIN batch_events be ON be.id = e.id " +
+            "WHERE (CAST(:batch AS text) IS NULL OR COALESCE(ce.batch, be.batch) = CAST(:batch AS text)) " +
+            "AND (CAST(:courseId AS bigint) IS NULL OR ce.course_id = CAST(:courseId AS bigint)) " +
+            "AND (CAST(:from AS date) IS NULL OR e.date >= CAST(:from AS date)) " +
+            "AND (CAST(:to AS date) IS NULL OR e.date <= CAST(:to AS date))), " +
+            DELETE_TARGETS, nativeQuery = true)
+    List<DeletedEvent> deleteMatching(
+            @Param("batch") String batch,
+            @Param("courseId") Long courseId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // Data-modifying CTEs that remove the rows of "target"; foreign keys are checked at statement end
+    String DELETE_TARGETS = "feed AS (DELETE FROM student_event_feed WHERE event_id IN (SELECT id FROM target)), " +
+            "course_rows AS (DELETE FROM course_events WHERE id IN (SELECT id FROM target)), " +
+            "batch_rows AS (DELETE FROM batch_events WHERE id IN (SELECT id FROM target)), " +
+            "event_rows AS (DELETE FROM events WHERE id IN (SELECT id FROM target)) " +
+            "SELECT id, date, batch, event_type AS \"eventType\" FROM target";
+
+    // One day of findSemesterCalendar
+    interface CalendarDay {
+        LocalDate getDate();
+
+        long getEventCount();
+
+        String getEvents();
+    }
+
+    // Key columns of a deleted event, for change notices
+    interface DeletedEvent {
+        Long getId();
+
+        LocalDate getDate();
+
+        String getBatch();
+
+        String getEventType();
+    }
+}
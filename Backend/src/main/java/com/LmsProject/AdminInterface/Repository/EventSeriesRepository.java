@@ -0,0 +1,66 @@
+package com.LmsProject.AdminInterface.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.LmsProject.AdminInterface.Model.EventSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EventSeriesRepository extends JpaRepository<EventSeries, Long> {
+
+    // Series of a batch overlapping [from, to]: batch-wide ones and those of courses in the semester
+    @Query("SELECT es FROM EventSeries es " +
+            "LEFT JOIN es.course c " +
+            "LEFT JOIN c.semester s " +
+            "WHERE es.batch = :batch AND es.startDate <= :to AND es.endDate >= :from " +
+            "AND (es.course IS NULL OR (s.academicYear = :academicYear AND s.semesterId = :semesterId))")
+    List<EventSeries> findSemesterSeries(
+            @Param("academicYear") String academicYear,
+            @Param("semesterId") String semesterId,
+            @Param("batch") String batch,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // Series of a batch overlapping [from, to]: batch-wide ones and those of the given courses
+    @Query("SELECT es FROM EventSeries es " +
+            "LEFT JOIN es.course c " +
+            "WHERE es.batch = :batch AND es.startDate <= :to AND es.endDate >= :from " +
+            "AND (es.course IS NULL OR c.courseId IN :courseIds)")
+    List<EventSeries> findCourseSeries(
+            @Param("courseIds") List<Long> courseIds,
+            @Param("batch") String batch,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // Series a student sees: those of their enrolled courses in their batch and their batch-wide ones
+    @Query("SELECT es FROM EventSeries es " +
+            "WHERE es.batch = :batch AND es.startDate <= :to AND es.endDate >= :from " +
+            "AND EXISTS (SELECT 1 FROM Enrollment en WHERE en.student.username = :username " +
+            "AND (es.course IS NULL OR en.course = es.course))")
+    List<EventSeries> findStudentSeries(
+            @Param("username") String username,
+            @Param("batch") String batch,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // Series matching all of the given filters that overlap [from, to]; null filters are ignored
+    @Query("SELECT es FROM EventSeries es " +
+            "LEFT JOIN es.course c " +
+            "WHERE (:batch IS NULL OR es.batch = :batch) " +
+            "AND (:courseId IS NULL OR c.courseId = :courseId) " +
+            "AND (:to IS NULL OR es.startDate <= :to) " +
+            "AND (:from IS NULL OR es.endDate >= :from)")
+    List<EventSeries> findMatching(
+            @Param("batch") String batch,
+            @Param("courseId") Long courseId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // Every series of a batch still running on or after the given date
+    @Query("SELECT es FROM EventSeries es WHERE es.batch = :batch AND es.endDate >= :from ORDER BY es.startDate, es.id")
+    List<EventSeries> findBatchSeries(@Param("batch") String batch, @Param("from") LocalDate from);
+}
@@ -1,9 +1,14 @@
 package com.LmsProject.AdminInterface.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import com.LmsProject.AdminInterface.DTO.SemesterInfoDTO;
 import com.LmsProject.AdminInterface.Model.Semester;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +16,12 @@ public interface SemesterRepository extends JpaRepository<Semester, String> {
   Optional<Semester> findBySemesterId(String semesterId);
 
   Optional<Semester> findBySemesterIdAndAcademicYear(String semesterId, String academicYear);
+
+  // Id, name and academic year of every semester, in a stable order
+  @Query("SELECT new com.LmsProject.AdminInterface.DTO.SemesterInfoDTO(s.semesterId, s.semesterName, s.academicYear) "
+      + "FROM Semester s ORDER BY s.semesterId")
+  List<SemesterInfoDTO> findSemesterInfo();
+
+  @Query("SELECT s.semesterId FROM Semester s WHERE s.semesterId IN :semesterIds")
+  List<String> findExistingSemesterIds(@Param("semesterIds") Collection<String> semesterIds);
 }
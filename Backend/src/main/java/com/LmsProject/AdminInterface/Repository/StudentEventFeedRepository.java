@@ -0,0 +1,133 @@
+package com.LmsProject.AdminInterface.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import com.LmsProject.AdminInterface.DTO.EventBasicResponseDTO;
+import com.LmsProject.AdminInterface.Model.StudentEventFeed;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StudentEventFeedRepository extends JpaRepository<StudentEventFeed, StudentEventFeed.Key> {
+
+    // A student's feed from a date onwards, joined to the events for display
+    @Query("SELECT new com.LmsProject.AdminInterface.DTO.EventBasicResponseDTO(" +
+            "e.id, e.title, e.date, c.courseId, " +
+            "CASE WHEN ce.id IS NOT NULL THEN 'COURSE_EVENT' ELSE 'BATCH_EVENT' END) " +
+            "FROM StudentEventFeed f " +
+            "JOIN Student s ON s.personId = f.studentId " +
+            "JOIN Event e ON e.id = f.eventId " +
+            "LEFT JOIN CourseEvent ce ON ce.id = e.id " +
+            "LEFT JOIN ce.course c " +
+            "WHERE s.username = :username AND f.eventDate >= :from " +
+            "ORDER BY f.eventDate, f.eventId")
+    List<EventBasicResponseDTO> findFeed(@Param("username") String username, @Param("from") LocalDate from);
+
+    /**
+     * Fans the given events out to every student who sees them: enrolled students of the batch for
+     * course events, and every enrolled student of the batch for batch events.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO student_event_feed (student_id, event_id, event_date) " +
+            "SELECT en.student_id, e.id, e.date FROM events e " +
+            "JOIN course_events ce ON ce.id = e.id " +
+            "JOIN enrollments en ON en.course_id = ce.course_id " +
+            "JOIN student s ON s.person_id = en.student_id AND s.batch = ce.batch " +
+            "WHERE e.id IN (:eventIds) " +
+            "UNION " +
+            "SELECT s.person_id, e.id, e.date FROM events e " +
+            "JOIN batch_events be ON be.id = e.id " +
+            "JOIN student s ON s.batch = be.batch " +
+            "WHERE e.id IN (:eventIds) " +
+            "AND EXISTS (SELECT 1 FROM enrollments en WHERE en.student_id = s.person_id) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int fanOutEvents(@Param("eventIds") Collection<Long> eventIds);
+
+    // Adds every event from a date onwards that the students see and is not in their feed yet
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO student_event_feed (student_id, event_id, event_date) " +
+            "SELECT s.person_id, e.id, e.date FROM student s " +
+            "JOIN enrollments en ON en.student_id = s.person_id " +
+            "JOIN course_events ce ON ce.course_id = en.course_id AND ce.batch = s.batch " +
+            "JOIN events e ON e.id = ce.id " +
+            "WHERE s.person_id IN (:studentIds) AND e.date >= :from " +
+            "UNION " +
+            "SELECT s.person_id, e.id, e.date FROM student s " +
+            "JOIN batch_events be ON be.batch = s.batch " +
+            "JOIN events e ON e.id = be.id " +
+            "WHERE s.person_id IN (:studentIds) AND e.date >= :from " +
+            "AND EXISTS (SELECT 1 FROM enrollments en WHERE en.student_id = s.person_id) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int fanInStudents(@Param("studentIds") Collection<Long> studentIds, @Param("from") LocalDate from);
+
+    // Same as fanInStudents for every student of the batches, for semester rollover
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO student_event_feed (student_id, event_id, event_date) " +
+            "SELECT s.person_id, e.id, e.date FROM student s " +
+            "JOIN enrollments en ON en.student_id = s.person_id " +
+            "JOIN course_events ce ON ce.course_id = en.course_id AND ce.batch = s.batch " +
+            "JOIN events e ON e.id = ce.id " +
+            "WHERE s.batch IN (:batches) AND e.date >= :from " +
+            "UNION " +
+            "SELECT s.person_id, e.id, e.date FROM student s " +
+            "JOIN batch_events be ON be.batch = s.batch " +
+            "JOIN events e ON e.id = be.id " +
+            "WHERE s.batch IN (:batches) AND e.date >= :from " +
+            "AND EXISTS (SELECT 1 FROM enrollments en WHERE en.student_id = s.person_id) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int fanInBatches(@Param("batches") Collection<String> batches, @Param("from") LocalDate from);
+
+    // Same as fanInStudents for every student; used to fill the feed or add what it misses
+    @Modifying
+    @Query(value = "INSERT INTO student_event_feed (student_id, event_id, event_date) " +
+            "SELECT s.person_id, e.id, e.date FROM student s " +
+            "JOIN enrollments en ON en.student_id = s.person_id " +
+            "JOIN course_events ce ON ce.course_id = en.course_id AND ce.batch = s.batch " +
+            "JOIN events e ON e.id = ce.id " +
+            "WHERE e.date >= :from " +
+            "UNION " +
+            "SELECT s.person_id, e.id, e.date FROM student s " +
+            "JOIN batch_events be ON be.batch = s.batch " +
+            "JOIN events e ON e.id = be.id " +
+            "WHERE e.date >= :from " +
+            "AND EXISTS (SELECT 1 FROM enrollments en WHERE en.student_id = s.person_id) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int fanInAllStudents(@Param("from") LocalDate from);
+
+    /**
+     * Deletes entries from a date onwards that their student no longer sees, e.g. after the student
+     * moved to another batch outside this application. The conditions are those of fanInStudents.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM student_event_feed f WHERE f.event_date >= :from " +
+            "AND NOT EXISTS (SELECT 1 FROM student s " +
+            "JOIN course_events ce ON ce.id = f.event_id AND ce.batch = s.batch " +
+            "JOIN enrollments en ON en.student_id = s.person_id AND en.course_id = ce.course_id " +
+            "WHERE s.person_id = f.student_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM student s " +
+            "JOIN batch_events be ON be.id = f.event_id AND be.batch = s.batch " +
+            "WHERE s.person_id = f.student_id " +
+            "AND EXISTS (SELECT 1 FROM enrollments en WHERE en.student_id = s.person_id))", nativeQuery = true)
+    int deleteStaleEntries(@Param("from") LocalDate from);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM student_event_feed)", nativeQuery = true)
+    boolean hasEntries();
+
+    @Modifying
+    @Query(value = "DELETE FROM student_event_feed WHERE event_id IN (:eventIds)", nativeQuery = true)
+    int deleteByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_event_feed WHERE student_id IN (:studentIds) AND event_date >= :from",
+            nativeQuery = true)
+    int deleteStudentEntries(@Param("studentIds") Collection<Long> studentIds, @Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_event_feed WHERE event_date < :before", nativeQuery = true)
+    int deletePastEntries(@Param("before") LocalDate before);
+}
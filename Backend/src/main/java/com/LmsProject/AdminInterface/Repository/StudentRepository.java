@@ -1,5 +1,6 @@
 package com.LmsProject.AdminInterface.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,35 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
    */
   Optional<Student> findByEmail(String email);
 
+  /**
+   * Looks up only the batch of a student.
+   *
+   * @param username The username of the student
+   * @return Optional containing the batch, empty if the student does not exist or has no batch
+   */
+  @Query("SELECT s.batch FROM Student s WHERE s.username = :username")
+  Optional<String> findBatchByUsername(@Param("username") String username);
+
+  /**
+   * Lists the distinct batches students belong to, without loading the students themselves.
+   *
+   * @return Sorted list of non-null batch names
+   */
+  @Query("SELECT DISTINCT s.batch FROM Student s WHERE s.batch IS NOT NULL ORDER BY s.batch")
+  List<String> findDistinctBatches();
+
+  long countByBatch(String batch);
+
+  /**
+   * Resolves many usernames at once, loading only the columns needed to enroll the students.
+   *
+   * @param usernames The usernames to look up
+   * @return One entry per existing student; unknown usernames are left out
+   */
+  @Query("SELECT s.personId AS personId, s.username AS username, s.batch AS batch "
+      + "FROM Student s WHERE s.username IN :usernames")
+  List<StudentKey> findKeysByUsernameIn(@Param("usernames") Collection<String> usernames);
+
   /**
    * Finds all students enrolled in a specific course. This query uses a join with the
    * course_student table to find all students in a course.
@@ -47,4 +77,12 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
               + "WHERE cs.course_id = :courseId",
       nativeQuery = true)
   List<Student> findStudentsByCourseId(@Param("courseId") Long courseId);
+
+  interface StudentKey {
+    Long getPersonId();
+
+    String getUsername();
+
+    String getBatch();
+  }
 }
@@ -0,0 +1,32 @@
+package com.LmsProject.AdminInterface.Repository;
+
+import java.util.Optional;
+
+import com.LmsProject.AdminInterface.Model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.student.personId = :studentId " +
+            "AND w.semester.semesterId = :semesterId AND w.course.courseId = :courseId")
+    Optional<WaitlistEntry> findEntry(
+            @Param("studentId") Long studentId,
+            @Param("semesterId") String semesterId,
+            @Param("courseId") Long courseId);
+
+    // 1-based place of an entry in its course's queue
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.course.courseId = :courseId AND w.waitlistId <= :waitlistId")
+    long findPosition(@Param("courseId") Long courseId, @Param("waitlistId") Long waitlistId);
+
+    /**
+     * Locks the oldest entry of a course. Entries locked by a concurrent promotion are skipped, so
+     * promotions never wait on each other.
+     */
+    @Query(value = "SELECT * FROM enrollment_waitlist WHERE course_id = :courseId " +
+            "ORDER BY waitlist_id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<WaitlistEntry> lockNext(@Param("courseId") Long courseId);
+}
@@ -0,0 +1,29 @@
+package com.LmsProject.AdminInterface.Service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects such as cache evictions until the surrounding transaction commits,
+ * so a rollback leaves nothing behind and a read after the commit cannot cache the old state. A read
+ * that began before the commit may still do so; caches bound that with a TTL or a generation check.
+ * Outside a transaction the action runs at once.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
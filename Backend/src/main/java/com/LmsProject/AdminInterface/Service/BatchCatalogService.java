@@ -0,0 +1,75 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.LmsProject.AdminInterface.DTO.SemesterInfoDTO;
+import com.LmsProject.AdminInterface.Repository.SemesterRepository;
+import com.LmsProject.AdminInterface.Repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Cached lists of the distinct student batches and of the semesters, used by the admin filter
+ * dropdowns.
+ *
+ * <p>Batches come from a {@code SELECT DISTINCT batch} projection and semesters from an id/name/year
+ * projection. Both are kept until a student or semester is changed through this application.
+ * Students are also created by the main LMS, so the catalog is reloaded after {@link #MAX_AGE} as
+ * well. The ETag is a digest of the content, so it only changes when the lists do.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchCatalogService {
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    private final StudentRepository studentRepository;
+    private final SemesterRepository semesterRepository;
+
+    private volatile Catalog catalog;
+    // Bumped by every invalidation, so a reload that overlapped one is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public Catalog getCatalog() {
+        Catalog current = catalog;
+        if (current == null || current.loadedAt().plus(MAX_AGE).isBefore(Instant.now())) {
+            current = reload();
+        }
+        return current;
+    }
+
+    /**
+     * Drops the cached catalog. When called inside a transaction the catalog is dropped after commit;
+     * a reload still reading the old state at that point is returned but not cached.
+     */
+    public void invalidate() {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            catalog = null;
+        });
+    }
+
+    private synchronized Catalog reload() {
+        Catalog current = catalog;
+        if (current != null && !current.loadedAt().plus(MAX_AGE).isBefore(Instant.now())) {
+            return current;
+        }
+        long loadedGeneration = generation.get();
+        List<String> batches = List.copyOf(studentRepository.findDistinctBatches());
+        List<SemesterInfoDTO> semesters = List.copyOf(semesterRepository.findSemesterInfo());
+        String digest = DigestUtils.md5DigestAsHex((batches + "\n" + semesters).getBytes(StandardCharsets.UTF_8));
+        current = new Catalog(batches, semesters, "\"" + digest + "\"", Instant.now());
+        if (generation.get() == loadedGeneration) {
+            catalog = current;
+        }
+        return current;
+    }
+
+    public record Catalog(List<String> batches, List<SemesterInfoDTO> semesters, String etag, Instant loadedAt) {
+    }
+}
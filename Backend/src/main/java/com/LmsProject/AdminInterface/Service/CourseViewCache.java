@@ -0,0 +1,49 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.LmsProject.AdminInterface.DTO.SimpleCourseViewDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the course cards shown for a (semester, batch), in front of
+ * {@link EnrollmentService#getCourseView}.
+ *
+ * <p>Enrollment writes evict their (semester, batch) entry; semester and course writes evict every
+ * entry of the semester, or everything when the semester is not known. Evictions inside a
+ * transaction happen after commit.
+ */
+@Component
+public class CourseViewCache {
+
+    private static final long MAX_ENTRIES = 1_000;
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private final Cache<Key, List<SimpleCourseViewDTO>> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(TTL)
+            .build();
+
+    private record Key(String semesterId, String batch) {
+    }
+
+    public List<SimpleCourseViewDTO> get(String semesterId, String batch, Supplier<List<SimpleCourseViewDTO>> loader) {
+        return cache.get(new Key(semesterId, batch), k -> loader.get());
+    }
+
+    public void evict(String semesterId, String batch) {
+        AfterCommit.run(() -> cache.invalidate(new Key(semesterId, batch)));
+    }
+
+    public void evictSemester(String semesterId) {
+        AfterCommit.run(() -> cache.asMap().keySet().removeIf(key -> key.semesterId().equals(semesterId)));
+    }
+
+    public void evictAll() {
+        AfterCommit.run(cache::invalidateAll);
+    }
+}
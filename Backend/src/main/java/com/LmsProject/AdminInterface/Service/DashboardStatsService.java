@@ -0,0 +1,164 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.LmsProject.AdminInterface.DTO.CourseStatusCountDTO;
+import com.LmsProject.AdminInterface.Model.Course;
+import com.LmsProject.AdminInterface.Repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * In-memory course counters for the admin dashboard.
+ *
+ * <p>The counters are seeded once from a GROUP BY over course end dates and are then adjusted by
+ * {@link CourseService} whenever a course is saved or deleted, so reading them never touches the
+ * course table. A course counts as COMPLETED once its status is COMPLETED or its end date has passed;
+ * the midnight rollover moves the courses that ended the previous day from ACTIVE to COMPLETED, and
+ * {@link SemesterRolloverService} reports the courses it closes early.
+ *
+ * <p>Adjustments only cover saves made through this instance, and one that lands while the counters
+ * are being seeded can be counted twice, so the counters are reseeded from the aggregate at the
+ * midnight rollover and by a periodic reconcile job.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardStatsService {
+
+    private final CourseRepository courseRepository;
+
+    // Number of courses ending on each date, used to know how many courses complete at rollover
+    private final NavigableMap<LocalDate, Long> coursesByEndDate = new TreeMap<>();
+    private long activeCourses;
+    private long completedCourses;
+    private boolean loaded;
+
+    private volatile LocalDate today;
+    private volatile CourseStatusCountDTO snapshot;
+
+    public CourseStatusCountDTO getCourseStatusCounts() {
+        CourseStatusCountDTO current = snapshot;
+        if (current == null) {
+            return load();
+        }
+        if (!LocalDate.now().equals(today)) {
+            advanceTo(LocalDate.now());
+            return snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * Records a course that now exists with the given end date and status. A null end date counts as
+     * ACTIVE unless the status is COMPLETED.
+     */
+    public synchronized void courseAdded(LocalDate endDate, Course.CourseStatus status) {
+        if (!loaded) {
+            return;
+        }
+        adjust(endDate, status, 1);
+        publish();
+    }
+
+    /**
+     * Records that a course with the given end date and status no longer exists (or is about to be
+     * re-added with new values).
+     */
+    public synchronized void courseRemoved(LocalDate endDate, Course.CourseStatus status) {
+        if (!loaded) {
+            return;
+        }
+        adjust(endDate, status, -1);
+        publish();
+    }
+
+    // Courses with these end dates were marked COMPLETED, e.g. by a semester rollover
+    public synchronized void coursesCompleted(List<LocalDate> endDates) {
+        if (!loaded) {
+            return;
+        }
+        endDates.forEach(endDate -> {
+            adjust(endDate, null, -1);
+            adjust(endDate, Course.CourseStatus.COMPLETED, 1);
+        });
+        publish();
+    }
+
+    // Runs every day at midnight
+    @Scheduled(cron = "0 0 0 * * *")
+    @Transactional
+    public void rollover() {
+        courseRepository.markCompletedBefore(LocalDate.now(), Course.CourseStatus.COMPLETED);
+        AfterCommit.run(this::reseed);
+    }
+
+    // Drops the adjusted counters and recounts them, once they have been loaded at all
+    @Scheduled(cron = "${dashboard.stats.reconcile-cron:0 15 * * * *}")
+    public synchronized void reconcile() {
+        if (loaded) {
+            reseed();
+        }
+    }
+
+    private synchronized CourseStatusCountDTO load() {
+        if (loaded) {
+            return snapshot;
+        }
+        return reseed();
+    }
+
+    private synchronized CourseStatusCountDTO reseed() {
+        coursesByEndDate.clear();
+        activeCourses = 0;
+        completedCourses = 0;
+        today = LocalDate.now();
+        List<Object[]> rows = courseRepository.countCoursesByEndDateExcept(Course.CourseStatus.COMPLETED);
+        for (Object[] row : rows) {
+            LocalDate endDate = (LocalDate) row[0];
+            long count = ((Number) row[1]).longValue();
+            adjust(endDate, null, count);
+        }
+        completedCourses += courseRepository.countByStatus(Course.CourseStatus.COMPLETED);
+        loaded = true;
+        publish();
+        return snapshot;
+    }
+
+    private synchronized void advanceTo(LocalDate date) {
+        if (!loaded || !date.isAfter(today)) {
+            return;
+        }
+        long ended = coursesByEndDate.subMap(today, true, date, false).values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        activeCourses -= ended;
+        completedCourses += ended;
+        today = date;
+        publish();
+    }
+
+    // Courses marked COMPLETED are counted as such whatever their end date, and are not tracked by date
+    private void adjust(LocalDate endDate, Course.CourseStatus status, long delta) {
+        if (status == Course.CourseStatus.COMPLETED) {
+            completedCourses += delta;
+            return;
+        }
+        if (endDate != null) {
+            coursesByEndDate.merge(endDate, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+        if (endDate != null && endDate.isBefore(today)) {
+            completedCourses += delta;
+        } else {
+            activeCourses += delta;
+        }
+    }
+
+    private void publish() {
+        snapshot = new CourseStatusCountDTO(activeCourses, completedCourses);
+    }
+}
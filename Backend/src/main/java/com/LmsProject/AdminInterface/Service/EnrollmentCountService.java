@@ -0,0 +1,116 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.LmsProject.AdminInterface.Model.Enrollment;
+import com.LmsProject.AdminInterface.Model.EnrollmentCount;
+import com.LmsProject.AdminInterface.Repository.CourseSeatsRepository;
+import com.LmsProject.AdminInterface.Repository.EnrollmentCountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Enrollment counts per course, semester and batch, read from the enrollment_counts table instead of
+ * counting enrollments.
+ *
+ * <p>The write methods join the caller's transaction, so a counter commits or rolls back together
+ * with the enrollment that changed it. Set-based inserts update the counters in their own statement
+ * (see {@link EnrollmentCountRepository#COUNT_INSERTED}).
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentCountService {
+
+    private final EnrollmentCountRepository enrollmentCountRepository;
+    private final CourseSeatsRepository courseSeatsRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enrolled(Long courseId, String semesterId, String batch, Enrollment.EnrollmentStatus status) {
+        add(courseId, semesterId, batch, status, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void withdrawn(Long courseId, String semesterId, String batch, Enrollment.EnrollmentStatus status) {
+        add(courseId, semesterId, batch, status, -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Long courseId, String semesterId, String batch,
+                              Enrollment.EnrollmentStatus from, Enrollment.EnrollmentStatus to) {
+        if (from != to) {
+            add(courseId, semesterId, batch, from, -1);
+            add(courseId, semesterId, batch, to, 1);
+        }
+    }
+
+    // Students of a batch enrolled in a course for a semester, whatever their status
+    public long getCount(Long courseId, String semesterId, String batch) {
+        return enrollmentCountRepository.findById(new EnrollmentCount.Key(courseId, semesterId, batchKey(batch)))
+                .map(count -> count.getActiveCount() + count.getCompletedCount())
+                .orElse(0L);
+    }
+
+    // Students of all batches enrolled in a course for a semester
+    public long getCourseCount(Long courseId, String semesterId) {
+        return enrollmentCountRepository.countCourse(courseId, semesterId);
+    }
+
+    // Enrolled students per course id, for the course cards of a semester and batch
+    public Map<Long, Long> getCourseCounts(String semesterId, String batch) {
+        return enrollmentCountRepository.findBySemesterIdAndBatch(semesterId, batchKey(batch)).stream()
+                .collect(Collectors.toMap(
+                        EnrollmentCount::getCourseId,
+                        count -> count.getActiveCount() + count.getCompletedCount()));
+    }
+
+    public EnrollmentCountRepository.Totals getTotals() {
+        return enrollmentCountRepository.findTotals();
+    }
+
+    /**
+     * Corrects counters and taken seats that drifted from enrollments, e.g. after writes made
+     * outside this application. Returns the number of rows fixed.
+     */
+    @Scheduled(cron = "${enrollments.counts.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        return recount();
+    }
+
+    // Fills empty counters once, e.g. on the first start after the tables were added; drift is left to reconcile()
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (!enrollmentCountRepository.hasEntries() || !courseSeatsRepository.hasEntries()) {
+            recount();
+        }
+    }
+
+    // Writers wait for the locks, so none of their deltas is overwritten by an older recount.
+    // Every enrollment write touches course_seats before enrollment_counts; locking in the same order
+    // keeps a recount from deadlocking with them.
+    private int recount() {
+        courseSeatsRepository.lockSeats();
+        enrollmentCountRepository.lockCounts();
+        return enrollmentCountRepository.reconcile() + courseSeatsRepository.reconcile();
+    }
+
+    private void add(Long courseId, String semesterId, String batch, Enrollment.EnrollmentStatus status, long delta) {
+        enrollmentCountRepository.add(
+                courseId,
+                semesterId,
+                batchKey(batch),
+                status == Enrollment.EnrollmentStatus.ACTIVE ? delta : 0,
+                status == Enrollment.EnrollmentStatus.COMPLETED ? delta : 0);
+    }
+
+    private static String batchKey(String batch) {
+        return batch != null ? batch : "";
+    }
+}
@@ -0,0 +1,283 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.LmsProject.AdminInterface.DTO.CreateEnrollmentDTO;
+import com.LmsProject.AdminInterface.Exception.CourseFullException;
+import com.LmsProject.AdminInterface.Exception.CourseNotFoundException;
+import com.LmsProject.AdminInterface.Exception.SemesterNotFoundException;
+import com.LmsProject.AdminInterface.Exception.StudentNotFoundException;
+import com.LmsProject.AdminInterface.Model.Course;
+import com.LmsProject.AdminInterface.Model.Enrollment;
+import com.LmsProject.AdminInterface.Model.Semester;
+import com.LmsProject.AdminInterface.Model.Student;
+import com.LmsProject.AdminInterface.Repository.CourseRepository;
+import com.LmsProject.AdminInterface.Repository.EnrollmentRepository;
+import com.LmsProject.AdminInterface.Repository.SemesterRepository;
+import com.LmsProject.AdminInterface.Repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Optional group commit for single enrollments, for registration bursts
+ * ({@code enrollments.group-commit.enabled=true}).
+ *
+ * <p>Requests are queued and one worker writes them in micro-batches of up to {@code max-batch}
+ * rows, waiting at most {@code max-wait-ms} after the first one. A batch loads its students,
+ * semesters and courses and checks for duplicates with one query each, and is saved in a single
+ * transaction, so a burst needs one connection instead of one per request. Each caller still gets
+ * its own enrollment or error; seats are taken per row as in createEnrollment. If a batch fails as a whole, e.g. on a race with an enrollment written
+ * elsewhere, its requests are retried one by one through {@link EnrollmentService#createEnrollment}.
+ * When the mode is off, or the queue is full, requests go straight to {@code createEnrollment}.
+ * A caller waits at most {@code timeout-ms} for its batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentGroupCommitService {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    // How often an idle worker checks for shutdown
+    private static final long IDLE_POLL_MILLIS = 500;
+
+    private final EnrollmentService enrollmentService;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final SemesterRepository semesterRepository;
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private volatile boolean running;
+    private Thread worker;
+
+    @Value("${enrollments.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${enrollments.group-commit.max-batch:200}")
+    private int maxBatch;
+
+    @Value("${enrollments.group-commit.max-wait-ms:10}")
+    private long maxWaitMillis;
+
+    // Longest a caller waits for its batch before giving up
+    @Value("${enrollments.group-commit.timeout-ms:30000}")
+    private long timeoutMillis;
+
+    private record Pending(CreateEnrollmentDTO request, CompletableFuture<Enrollment> result) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            running = true;
+            worker = Thread.ofVirtual().name("enrollment-group-commit").start(this::run);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // No interrupt: an interrupted virtual thread would close the socket of a running batch
+        running = false;
+        if (worker != null) {
+            worker.join();
+        }
+        // Requests offered while the worker was finishing its last drain
+        drainAlone();
+    }
+
+    /**
+     * Enrolls a student, waiting for the batch that carries the request to commit. Throws the same
+     * exceptions as {@link EnrollmentService#createEnrollment}. Must not be called inside a
+     * transaction, which would hold a connection while waiting.
+     */
+    public Enrollment enroll(CreateEnrollmentDTO dto) {
+        if (!running) {
+            return enrollmentService.createEnrollment(dto);
+        }
+        Pending pending = new Pending(dto, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            return enrollmentService.createEnrollment(dto);
+        }
+        // The worker may have stopped after the check above; a request nobody took is written here
+        if (!running && queue.remove(pending)) {
+            return enrollmentService.createEnrollment(dto);
+        }
+        try {
+            return pending.result().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                if (queue.remove(pending)) {
+                    // Never picked up, so nothing was written yet
+                    return enrollmentService.createEnrollment(dto);
+                }
+                throw new IllegalStateException(
+                        "Enrollment timed out while being written; check whether it exists before retrying");
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    commit(batch);
+                } catch (Throwable e) {
+                    // Keeps the worker alive; callers already answered are left as they are
+                    batch.forEach(pending -> pending.result().completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+        // Shutting down: whatever is still queued is written one by one
+        drainAlone();
+    }
+
+    private void drainAlone() {
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(this::enrollAlone);
+    }
+
+    private void commit(List<Pending> batch) {
+        List<Outcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> enrollAll(batch));
+        } catch (Throwable e) {
+            batch.forEach(this::enrollAlone);
+            return;
+        }
+        // The transaction has committed, so callers never see an enrollment that could still roll back
+        for (int i = 0; i < batch.size(); i++) {
+            Outcome outcome = outcomes.get(i);
+            if (outcome.error() != null) {
+                batch.get(i).result().completeExceptionally(outcome.error());
+            } else {
+                batch.get(i).result().complete(outcome.enrollment());
+            }
+        }
+    }
+
+    private void enrollAlone(Pending pending) {
+        try {
+            pending.result().complete(enrollmentService.createEnrollment(pending.request()));
+        } catch (Throwable e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private record Outcome(Enrollment enrollment, RuntimeException error) {
+    }
+
+    // Records a CourseFullException outcome when the course is full; the student is then waitlisted
+    private boolean hasSeat(Student student, Semester semester, Course course, CreateEnrollmentDTO dto,
+                            List<Outcome> outcomes) {
+        try {
+            enrollmentService.takeSeatOrWaitlist(student, semester, course, dto.getStatus());
+            return true;
+        } catch (CourseFullException e) {
+            outcomes.add(new Outcome(null, e));
+            return false;
+        }
+    }
+
+    // Same checks as createEnrollment, made for the whole batch at once; outcomes are in request order
+    private List<Outcome> enrollAll(List<Pending> batch) {
+        List<CreateEnrollmentDTO> requests = batch.stream().map(Pending::request).toList();
+        Map<Long, Student> students = studentRepository
+                .findAllById(requests.stream().map(CreateEnrollmentDTO::getStudentId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Student::getPersonId, Function.identity()));
+        Map<String, Semester> semesters = semesterRepository
+                .findAllById(requests.stream().map(CreateEnrollmentDTO::getSemesterId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Semester::getSemesterId, Function.identity()));
+        Map<Long, Course> courses = courseRepository
+                .findAllById(requests.stream().map(CreateEnrollmentDTO::getCourseId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Course::getCourseId, Function.identity()));
+        Set<List<Object>> taken = enrollmentRepository.findKeys(students.keySet(), semesters.keySet(), courses.keySet()).stream()
+                .map(key -> List.<Object>of(key.getStudentId(), key.getSemesterId(), key.getCourseId()))
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<Outcome> outcomes = new ArrayList<>(requests.size());
+        List<Enrollment> created = new ArrayList<>();
+        for (CreateEnrollmentDTO dto : requests) {
+            Student student = students.get(dto.getStudentId());
+            Semester semester = semesters.get(dto.getSemesterId());
+            Course course = courses.get(dto.getCourseId());
+            if (student == null) {
+                outcomes.add(new Outcome(null, new StudentNotFoundException("Student not found with id: " + dto.getStudentId())));
+            } else if (semester == null) {
+                outcomes.add(new Outcome(null, new SemesterNotFoundException("Semester not found with id: " + dto.getSemesterId())));
+            } else if (course == null) {
+                outcomes.add(new Outcome(null, new CourseNotFoundException("Course not found with id: " + dto.getCourseId())));
+            } else if (dto.getStatus() == null) {
+                outcomes.add(new Outcome(null, new IllegalArgumentException("Enrollment status must be provided")));
+            } else if (!taken.add(List.of(student.getPersonId(), semester.getSemesterId(), course.getCourseId()))) {
+                outcomes.add(new Outcome(null, new IllegalStateException("Student is already enrolled in this course for the given semester")));
+            } else if (!hasSeat(student, semester, course, dto, outcomes)) {
+                taken.remove(List.of(student.getPersonId(), semester.getSemesterId(), course.getCourseId()));
+            } else {
+                Enrollment enrollment = Enrollment.builder()
+                        .student(student)
+                        .semester(semester)
+                        .course(course)
+                        .enrollmentDate(LocalDate.now())
+                        .status(dto.getStatus())
+                        .build();
+                created.add(enrollment);
+                outcomes.add(new Outcome(enrollment, null));
+            }
+        }
+
+        enrollmentRepository.saveAll(created);
+        enrollmentService.recordEnrollments(created);
+        return outcomes;
+    }
+}
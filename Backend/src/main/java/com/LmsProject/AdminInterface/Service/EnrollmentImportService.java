@@ -0,0 +1,260 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.LmsProject.AdminInterface.DTO.EnrollmentImportReportDTO;
+import com.LmsProject.AdminInterface.Model.Enrollment;
+import com.LmsProject.AdminInterface.Repository.CourseRepository;
+import com.LmsProject.AdminInterface.Repository.EnrollmentBatchInsertRepository;
+import com.LmsProject.AdminInterface.Repository.SemesterRepository;
+import com.LmsProject.AdminInterface.Repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports enrollments from CSV with the columns username, semesterId, courseId and an optional
+ * status (ACTIVE by default), in any order after a header row.
+ *
+ * <p>The file is read as a stream and handled {@link #CHUNK_SIZE} rows at a time: the chunk's
+ * usernames, semesters and courses are resolved with one query each and its valid rows are written
+ * with one statement, in a transaction of their own. Memory therefore stays bounded by the chunk and
+ * the capped error list, whatever the size of the file. A failing row never stops the import; it is
+ * counted and reported with its line number.
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String USERNAME = "username";
+    private static final String SEMESTER_ID = "semesterid";
+    private static final String COURSE_ID = "courseid";
+    private static final String STATUS = "status";
+
+    private final StudentRepository studentRepository;
+    private final SemesterRepository semesterRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentBatchInsertRepository enrollmentBatchInsertRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StudentEventFeedService studentEventFeedService;
+    private final EventQueryCache eventQueryCache;
+    private final EventFeedVersions eventFeedVersions;
+    private final CourseViewCache courseViewCache;
+
+    /**
+     * Imports every row of the CSV. Throws IllegalArgumentException if the header lacks a required
+     * column; chunks committed before a read error stay committed.
+     */
+    public EnrollmentImportReportDTO importCsv(InputStream csv) throws IOException {
+        EnrollmentImportReportDTO report = new EnrollmentImportReportDTO();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+            Map<String, Integer> columns = parseHeader(headerLine);
+
+            List<CsvRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.setRows(report.getRows() + 1);
+                try {
+                    chunk.add(toRow(lineNumber, parseLine(line), columns));
+                } catch (IllegalArgumentException e) {
+                    fail(report, lineNumber, e.getMessage());
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, report);
+        }
+        return report;
+    }
+
+    // Rows repeated from an earlier chunk are already committed, so the insert skips them too
+    private void importChunk(List<CsvRow> chunk, EnrollmentImportReportDTO report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, StudentRepository.StudentKey> students = studentRepository
+                    .findKeysByUsernameIn(chunk.stream().map(CsvRow::username).collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.toMap(StudentRepository.StudentKey::getUsername, Function.identity()));
+            Set<String> semesters = new HashSet<>(semesterRepository
+                    .findExistingSemesterIds(chunk.stream().map(CsvRow::semesterId).collect(Collectors.toSet())));
+            Map<Long, String> courseSemesters = new HashMap<>();
+            courseRepository.findCourseSemesters(chunk.stream().map(CsvRow::courseId).collect(Collectors.toSet()))
+                    .forEach(course -> courseSemesters.put(course.getCourseId(), course.getSemesterId()));
+
+            List<EnrollmentBatchInsertRepository.Row> rows = new ArrayList<>();
+            Map<EnrollmentBatchInsertRepository.Row, StudentRepository.StudentKey> studentOf = new HashMap<>();
+            // (student, semester, course) of the rows kept so far; a repeat with another status is skipped as well
+            Set<List<Object>> seen = new HashSet<>();
+            for (CsvRow row : chunk) {
+                StudentRepository.StudentKey student = students.get(row.username());
+                if (student == null) {
+                    fail(report, row.line(), "Student not found: " + row.username());
+                } else if (!semesters.contains(row.semesterId())) {
+                    fail(report, row.line(), "Semester not found: " + row.semesterId());
+                } else if (!courseSemesters.containsKey(row.courseId())) {
+                    fail(report, row.line(), "Course not found: " + row.courseId());
+                } else if (!row.semesterId().equals(courseSemesters.get(row.courseId()))) {
+                    fail(report, row.line(), "Course " + row.courseId() + " is not part of semester " + row.semesterId());
+                } else if (!seen.add(List.of(student.getPersonId(), row.semesterId(), row.courseId()))) {
+                    report.setSkipped(report.getSkipped() + 1);
+                } else {
+                    EnrollmentBatchInsertRepository.Row insert = new EnrollmentBatchInsertRepository.Row(
+                            student.getPersonId(), row.semesterId(), row.courseId(), row.status().name());
+                    studentOf.put(insert, student);
+                    rows.add(insert);
+                }
+            }
+
+            List<EnrollmentBatchInsertRepository.Row> inserted = enrollmentBatchInsertRepository.insertIgnoringExisting(rows);
+            report.setCreated(report.getCreated() + inserted.size());
+            report.setSkipped(report.getSkipped() + rows.size() - inserted.size());
+            enrolled(inserted, studentOf);
+        });
+    }
+
+    // Same bookkeeping as EnrollmentService, grouped so each batch and course view is touched once per chunk
+    private void enrolled(List<EnrollmentBatchInsertRepository.Row> inserted,
+                          Map<EnrollmentBatchInsertRepository.Row, StudentRepository.StudentKey> studentOf) {
+        if (inserted.isEmpty()) {
+            return;
+        }
+        studentEventFeedService.studentsEnrolled(inserted.stream()
+                .map(EnrollmentBatchInsertRepository.Row::studentId)
+                .collect(Collectors.toSet()));
+
+        Set<String> batches = new HashSet<>();
+        Set<List<String>> courseViews = new HashSet<>();
+        for (EnrollmentBatchInsertRepository.Row row : inserted) {
+            StudentRepository.StudentKey student = studentOf.get(row);
+            eventFeedVersions.studentChanged(student.getUsername());
+            if (student.getBatch() == null) {
+                eventQueryCache.evictStudent(student.getUsername());
+            } else if (batches.add(student.getBatch())) {
+                eventQueryCache.evictStudentsOfBatch(student.getBatch());
+            }
+            if (student.getBatch() != null && courseViews.add(List.of(row.semesterId(), student.getBatch()))) {
+                courseViewCache.evict(row.semesterId(), student.getBatch());
+            }
+        }
+    }
+
+    private static void fail(EnrollmentImportReportDTO report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new EnrollmentImportReportDTO.RowError(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    // Column positions by lower-cased name; a UTF-8 byte order mark from spreadsheet exports is ignored
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> names = parseLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of(USERNAME, SEMESTER_ID, COURSE_ID)) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException(
+                        "Header must contain the columns username, semesterId and courseId (status is optional)");
+            }
+        }
+        return columns;
+    }
+
+    private static CsvRow toRow(long line, List<String> fields, Map<String, Integer> columns) {
+        String username = field(fields, columns.get(USERNAME));
+        String semesterId = field(fields, columns.get(SEMESTER_ID));
+        String courseId = field(fields, columns.get(COURSE_ID));
+        String status = field(fields, columns.get(STATUS));
+        if (username.isEmpty() || semesterId.isEmpty() || courseId.isEmpty()) {
+            throw new IllegalArgumentException("username, semesterId and courseId must not be empty");
+        }
+
+        Long course;
+        try {
+            course = Long.valueOf(courseId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid courseId: " + courseId);
+        }
+        Enrollment.EnrollmentStatus enrollmentStatus;
+        try {
+            enrollmentStatus = status.isEmpty()
+                    ? Enrollment.EnrollmentStatus.ACTIVE
+                    : Enrollment.EnrollmentStatus.valueOf(status.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+        return new CsvRow(line, username, semesterId, course, enrollmentStatus);
+    }
+
+    private static String field(List<String> fields, Integer column) {
+        return column != null && column < fields.size() ? fields.get(column).trim() : "";
+    }
+
+    // Splits one CSV record; quoted fields may hold commas and doubled quotes, but not line breaks
+    private static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record CsvRow(long line, String username, String semesterId, Long courseId,
+                          Enrollment.EnrollmentStatus status) {
+    }
+}
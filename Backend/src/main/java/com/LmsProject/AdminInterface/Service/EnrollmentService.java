@@ -1,9 +1,14 @@
 package com.LmsProject.AdminInterface.Service;
 
 import com.LmsProject.AdminInterface.DTO.AdminCourseViewDTO;
+import com.LmsProject.AdminInterface.DTO.BulkEnrollmentRequestDTO;
+import com.LmsProject.AdminInterface.DTO.BulkEnrollmentResultDTO;
+import com.LmsProject.AdminInterface.DTO.CourseRosterStudentDTO;
 import com.LmsProject.AdminInterface.DTO.CreateEnrollmentDTO;
 import com.LmsProject.AdminInterface.DTO.EnrollmentDTO;
+import com.LmsProject.AdminInterface.DTO.RosterCursor;
 import com.LmsProject.AdminInterface.DTO.SimpleCourseViewDTO;
+import com.LmsProject.AdminInterface.Exception.CourseFullException;
 import com.LmsProject.AdminInterface.Exception.CourseNotFoundException;
 import com.LmsProject.AdminInterface.Exception.NoEnrollmentsFoundException;
 import com.LmsProject.AdminInterface.Exception.SemesterNotFoundException;
@@ -12,19 +17,31 @@ import com.LmsProject.AdminInterface.Model.Course;
 import com.LmsProject.AdminInterface.Model.Enrollment;
 import com.LmsProject.AdminInterface.Model.Semester;
 import com.LmsProject.AdminInterface.Model.Student;
+import com.LmsProject.AdminInterface.Model.WaitlistEntry;
 import com.LmsProject.AdminInterface.Repository.CourseRepository;
+import com.LmsProject.AdminInterface.Repository.CourseSeatsRepository;
 import com.LmsProject.AdminInterface.Repository.EnrollmentRepository;
 import com.LmsProject.AdminInterface.Repository.SemesterRepository;
 import com.LmsProject.AdminInterface.Repository.StudentRepository;
+import com.LmsProject.AdminInterface.Repository.WaitlistRepository;
 import jakarta.transaction.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -35,54 +52,32 @@ public class EnrollmentService {
     private final StudentRepository studentRepository;
     private final SemesterRepository semesterRepository;
     private final CourseRepository courseRepository;
+    private final EventQueryCache eventQueryCache;
+    private final StudentEventFeedService studentEventFeedService;
+    private final EventFeedVersions eventFeedVersions;
+    private final CourseViewCache courseViewCache;
+    private final EnrollmentCountService enrollmentCountService;
+    private final CourseSeatsRepository courseSeatsRepository;
+    private final WaitlistRepository waitlistRepository;
+
+    private static final int DEFAULT_ROSTER_PAGE_SIZE = 50;
+    private static final int MAX_ROSTER_PAGE_SIZE = 500;
 
     public List<EnrollmentDTO> getEnrollmentsByStudent(String username) {
-        List<Enrollment> enrollments = enrollmentRepository.findByStudent_Username(username);
+        List<EnrollmentDTO> enrollments = enrollmentRepository.findEnrollmentDetailsByUsername(username);
         if (enrollments.isEmpty() ) {
             throw new NoEnrollmentsFoundException("No enrollments found for student with username: " + username);
         }
-
-        return enrollments.stream()
-                .map(enrollment -> {
-                    EnrollmentDTO dto = new EnrollmentDTO();
-                    dto.setSemesterId(enrollment.getSemester().getSemesterId());
-                    dto.setSemester(enrollment.getSemester().getSemesterName());
-                    // Courses now come from semester
-                    if (!enrollment.getSemester().getCourses().isEmpty()) {
-                        Course course = enrollment.getSemester().getCourses().get(0);
-                        dto.setCourseId(course.getCourseId());
-                        dto.setCourseName(course.getName());
-                    }
-                    dto.setStatus(enrollment.getStatus());
-                    dto.setStudentName(enrollment.getStudent().getName());
-                    dto.setBatch(enrollment.getStudent().getBatch());
-                    dto.setUsername(enrollment.getStudent().getUsername());
-                    dto.setAcademicYear(enrollment.getSemester().getAcademicYear());
-                    dto.setStudentId(enrollment.getStudent().getPersonId());
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        return enrollments;
     }
+    // Course cards of a semester for a batch: one projection query, cached per (semester, batch)
     public List<SimpleCourseViewDTO> getCourseView(String semesterId, String batch) {
-        List<Enrollment> enrollments = enrollmentRepository.findBySemester_SemesterIdAndStudent_Batch(semesterId, batch);
-
-        return enrollments.stream()
-                .map(Enrollment::getSemester)
-                .flatMap(semester -> semester.getCourses().stream())
-                .distinct()
-                .map(course -> {
-                    SimpleCourseViewDTO dto = new SimpleCourseViewDTO();
-                    dto.setCourseId(course.getCourseId());
-                    dto.setCourseName(course.getName());
-                    dto.setCourseImage(course.getCourseImage());
-                    dto.setSemesterId(semesterId);
-                    dto.setSemesterName(course.getSemester().getSemesterName());
-                    dto.setAcademicYear(course.getSemester().getAcademicYear());
-                    return dto;
-                })
-                .collect(Collectors.toList());
-
-
+        return courseViewCache.get(semesterId, batch, () -> {
+            List<SimpleCourseViewDTO> courses = courseRepository.findCourseViewBySemesterAndBatch(semesterId, batch);
+            Map<Long, Long> counts = enrollmentCountService.getCourseCounts(semesterId, batch);
+            courses.forEach(course -> course.setEnrolledStudentCount(counts.getOrDefault(course.getCourseId(), 0L)));
+            return courses;
+        });
     }
 
 
@@ -90,16 +85,10 @@ public class EnrollmentService {
         Semester semester = semesterRepository.findById(semesterId)
                 .orElseThrow(() -> new SemesterNotFoundException("Semester with ID " + semesterId + " not found"));
 
-        // Get course from semester's courses
-        Course course = semester.getCourses().stream()
-                .filter(c -> c.getCourseId().equals(courseId))
-                .findFirst()
+        Course course = courseRepository.findById(courseId)
+                .filter(c -> c.getSemester() != null && semesterId.equals(c.getSemester().getSemesterId()))
                 .orElseThrow(() -> new CourseNotFoundException("Course with ID " + courseId + " not found in semester"));
 
-        // Get enrollments for this semester and batch
-        List<Enrollment> enrollments = enrollmentRepository.findBySemester_SemesterIdAndSemester_Courses_CourseIdAndStudent_Batch(
-                semesterId, courseId, batch);
-
         AdminCourseViewDTO dto = new AdminCourseViewDTO();
         dto.setCourseId(course.getCourseId());
         dto.setCourseName(course.getName());
@@ -107,10 +96,12 @@ public class EnrollmentService {
         dto.setSemesterId(semester.getSemesterId());
         dto.setSemesterName(semester.getSemesterName());
         dto.setAcademicYear(semester.getAcademicYear());
-        dto.setEnrolledStudentCount(enrollments.size());
+        dto.setEnrolledStudentCount((int) enrollmentCountService.getCount(courseId, semesterId, batch));
 
-        if (!enrollments.isEmpty()) {
-            dto.setEnrollmentStatus(enrollments.get(0).getStatus());
+        List<Enrollment.EnrollmentStatus> status = enrollmentRepository.findCourseRosterStatuses(
+                courseId, semesterId, batch, PageRequest.of(0, 1));
+        if (!status.isEmpty()) {
+            dto.setEnrollmentStatus(status.get(0));
         }
 
         dto.setLecturers(course.getLecturers().stream()
@@ -123,11 +114,11 @@ public class EnrollmentService {
                 })
                 .collect(Collectors.toList()));
 
-        dto.setStudents(enrollments.stream()
-                .map(enrollment -> {
+        // Only the first page of the roster; the rest comes from getCourseRoster
+        dto.setStudents(getCourseRoster(courseId, semesterId, batch, null, null, null, null).stream()
+                .map(student -> {
                     AdminCourseViewDTO.StudentDTO studentDTO = new AdminCourseViewDTO.StudentDTO();
-                    Student student = enrollment.getStudent();
-                    studentDTO.setStudentId(student.getPersonId());
+                    studentDTO.setStudentId(student.getStudentId());
                     studentDTO.setName(student.getName());
                     studentDTO.setUsername(student.getUsername());
                     return studentDTO;
@@ -137,6 +128,45 @@ public class EnrollmentService {
         return dto;
     }
 
+    /**
+     * One keyset page of the students of a batch enrolled in a course, sorted by {@code name} (the
+     * default) or {@code username} with the student id as tie-breaker. {@code query} keeps students
+     * whose name or username contains it, ignoring case.
+     */
+    public List<CourseRosterStudentDTO> getCourseRoster(Long courseId, String semesterId, String batch,
+                                                        String query, String sort, RosterCursor after, Integer size) {
+        String filter = query == null || query.isBlank()
+                ? null
+                : "%" + escapeLike(query.trim().toLowerCase(Locale.ROOT)) + "%";
+        RosterCursor cursor = after != null ? after : RosterCursor.start();
+        Pageable page = PageRequest.of(0, boundedRosterPageSize(size));
+
+        if (sort == null || sort.isBlank() || "name".equals(sort)) {
+            return enrollmentRepository.findCourseRosterByName(
+                    courseId, semesterId, batch, filter, cursor.getValue(), cursor.getId(), page);
+        }
+        if ("username".equals(sort)) {
+            return enrollmentRepository.findCourseRosterByUsername(
+                    courseId, semesterId, batch, filter, cursor.getValue(), cursor.getId(), page);
+        }
+        throw new IllegalArgumentException("Unknown sort: " + sort + " (expected name or username)");
+    }
+
+    public static int boundedRosterPageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_ROSTER_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, MAX_ROSTER_PAGE_SIZE);
+    }
+
+    // LIKE treats % and _ as wildcards; the roster queries escape them with a backslash
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     // In EnrollmentService.java
     public List<SimpleCourseViewDTO> getEnrolledCoursesByUsername(String username) {
         List<Enrollment> enrollments = enrollmentRepository.findByStudent_UsernameAndCourseIsNotNull(username);
@@ -160,7 +190,11 @@ public class EnrollmentService {
     }
 
 
-    @Transactional
+    /**
+     * Enrolls a student in a course, taking one of its seats. If the course is full the student is
+     * put on its waitlist instead and CourseFullException is thrown; the waitlist entry is committed.
+     */
+    @Transactional(dontRollbackOn = CourseFullException.class)
     public Enrollment createEnrollment(CreateEnrollmentDTO dto) {
         // Validate and fetch entities
         Student student = studentRepository.findById(dto.getStudentId())
@@ -176,6 +210,7 @@ public class EnrollmentService {
         if (enrollmentRepository.existsByStudentAndSemesterAndCourse(student, semester, course)) {
             throw new IllegalStateException("Student is already enrolled in this course for the given semester");
         }
+        takeSeatOrWaitlist(student, semester, course, dto.getStatus());
 
         // Create new enrollment
         Enrollment enrollment = Enrollment.builder()
@@ -186,7 +221,151 @@ public class EnrollmentService {
                 .status(dto.getStatus())
                 .build();
 
-        return enrollmentRepository.save(enrollment);
+        Enrollment saved = enrollmentRepository.save(enrollment);
+        recordEnrollments(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * Takes a seat in the course for the student, or puts them on the course's waitlist (once) and
+     * throws CourseFullException. The annotation keeps the waitlist entry only for calls through the
+     * proxy, such as EnrollmentGroupCommitService's; callers in this class (createEnrollment) bypass
+     * it and must carry {@code dontRollbackOn = CourseFullException.class} themselves.
+     */
+    @Transactional(dontRollbackOn = CourseFullException.class)
+    public void takeSeatOrWaitlist(Student student, Semester semester, Course course, Enrollment.EnrollmentStatus status) {
+        if (courseSeatsRepository.takeSeat(course.getCourseId()) == 1) {
+            return;
+        }
+        WaitlistEntry entry = waitlistRepository
+                .findEntry(student.getPersonId(), semester.getSemesterId(), course.getCourseId())
+                .orElseGet(() -> waitlistRepository.save(WaitlistEntry.builder()
+                        .student(student)
+                        .semester(semester)
+                        .course(course)
+                        .status(status)
+                        .requestedAt(LocalDateTime.now())
+                        .build()));
+        long position = waitlistRepository.findPosition(course.getCourseId(), entry.getWaitlistId());
+        throw new CourseFullException(
+                "Course " + course.getCourseId() + " is full; the student is number " + position + " on its waitlist",
+                position);
+    }
+
+    /**
+     * Removes an enrollment and frees its seat, which goes to the first student on the course's
+     * waitlist.
+     */
+    public void withdrawEnrollment(Long enrollmentId) {
+        Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
+                .orElseThrow(() -> new NoEnrollmentsFoundException("Enrollment not found with id: " + enrollmentId));
+        Student student = enrollment.getStudent();
+        Long courseId = enrollment.getCourse().getCourseId();
+        String semesterId = enrollment.getSemester().getSemesterId();
+
+        enrollmentRepository.delete(enrollment);
+        enrollmentRepository.flush();
+        // Seats before counters, the lock order of every enrollment write
+        courseSeatsRepository.releaseSeat(courseId);
+        enrollmentCountService.withdrawn(courseId, semesterId, student.getBatch(), enrollment.getStatus());
+        studentEventFeedService.studentWithdrawn(student.getPersonId());
+        eventQueryCache.evictStudent(student.getUsername());
+        eventFeedVersions.studentChanged(student.getUsername());
+        courseViewCache.evict(semesterId, student.getBatch());
+
+        promoteWaitlist(courseId);
+    }
+
+    /**
+     * Enrolls waitlisted students of a course while it has free seats, oldest request first.
+     * Returns the number of students promoted.
+     */
+    public int promoteWaitlist(Long courseId) {
+        List<Enrollment> promoted = new ArrayList<>();
+        Optional<WaitlistEntry> next;
+        while ((next = waitlistRepository.lockNext(courseId)).isPresent()) {
+            if (courseSeatsRepository.takeSeat(courseId) == 0) {
+                break;
+            }
+            WaitlistEntry entry = next.get();
+            waitlistRepository.delete(entry);
+            waitlistRepository.flush();
+            if (enrollmentRepository.existsByStudentAndSemesterAndCourse(entry.getStudent(), entry.getSemester(), entry.getCourse())) {
+                // Enrolled in the meantime by a bulk write, which counted its own seat
+                courseSeatsRepository.releaseSeat(courseId);
+                continue;
+            }
+            promoted.add(enrollmentRepository.save(Enrollment.builder()
+                    .student(entry.getStudent())
+                    .semester(entry.getSemester())
+                    .course(entry.getCourse())
+                    .enrollmentDate(LocalDate.now())
+                    .status(entry.getStatus())
+                    .build()));
+        }
+        recordEnrollments(promoted);
+        return promoted.size();
+    }
+
+    // Counters, feed and caches that follow new enrollments; runs in the transaction that saved them
+    public void recordEnrollments(List<Enrollment> saved) {
+        // The students' upcoming events depend on the courses they are enrolled in
+        studentEventFeedService.studentsEnrolled(saved.stream()
+                .map(enrollment -> enrollment.getStudent().getPersonId())
+                .collect(Collectors.toSet()));
+        for (Enrollment enrollment : saved) {
+            Student student = enrollment.getStudent();
+            String semesterId = enrollment.getSemester().getSemesterId();
+            enrollmentCountService.enrolled(enrollment.getCourse().getCourseId(), semesterId, student.getBatch(), enrollment.getStatus());
+            eventQueryCache.evictStudent(student.getUsername());
+            eventFeedVersions.studentChanged(student.getUsername());
+            // A first enrollment of the batch in the semester makes its course cards appear
+            courseViewCache.evict(semesterId, student.getBatch());
+        }
     }
 
+    /**
+     * Enrolls every student of a batch in several courses of a semester with one set-based insert.
+     * Students already enrolled in a course are skipped; courses that do not exist or are not part
+     * of the semester fail for the whole batch.
+     */
+    public BulkEnrollmentResultDTO enrollBatch(BulkEnrollmentRequestDTO dto) {
+        if (dto.getBatch() == null || dto.getBatch().isBlank() ||
+                dto.getSemesterId() == null || dto.getSemesterId().isBlank() ||
+                dto.getCourseIds() == null || dto.getCourseIds().isEmpty()) {
+            throw new IllegalArgumentException("batch, semesterId and courseIds must be provided");
+        }
+        if (!semesterRepository.existsById(dto.getSemesterId())) {
+            throw new SemesterNotFoundException("Semester not found with id: " + dto.getSemesterId());
+        }
+        long students = studentRepository.countByBatch(dto.getBatch());
+        if (students == 0) {
+            throw new StudentNotFoundException("No students found in batch: " + dto.getBatch());
+        }
+
+        Set<Long> requested = new LinkedHashSet<>(dto.getCourseIds());
+        requested.remove(null);
+        Set<Long> valid = new LinkedHashSet<>(courseRepository.findCourseIdsInSemester(requested, dto.getSemesterId()));
+        List<String> failures = requested.stream()
+                .filter(courseId -> !valid.contains(courseId))
+                .map(courseId -> "Course " + courseId + " not found in semester " + dto.getSemesterId())
+                .collect(Collectors.toList());
+
+        Enrollment.EnrollmentStatus status = dto.getStatus() != null ? dto.getStatus() : Enrollment.EnrollmentStatus.ACTIVE;
+        List<Long> enrolledStudentIds = valid.isEmpty()
+                ? List.of()
+                : enrollmentRepository.enrollBatch(dto.getBatch(), dto.getSemesterId(), valid, status.name());
+
+        studentEventFeedService.studentsEnrolled(new HashSet<>(enrolledStudentIds));
+        eventQueryCache.evictStudentsOfBatch(dto.getBatch());
+        eventFeedVersions.batchChanged(dto.getBatch());
+        courseViewCache.evict(dto.getSemesterId(), dto.getBatch());
+
+        int created = enrolledStudentIds.size();
+        return new BulkEnrollmentResultDTO(
+                created,
+                (int) (students * valid.size()) - created,
+                (int) (students * (requested.size() - valid.size())),
+                failures);
+    }
 }
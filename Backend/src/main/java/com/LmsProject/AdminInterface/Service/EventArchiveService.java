@@ -0,0 +1,87 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.LmsProject.AdminInterface.DTO.EventChangeDTO;
+import com.LmsProject.AdminInterface.DTO.EventCursor;
+import com.LmsProject.AdminInterface.DTO.EventResponseDTO;
+import com.LmsProject.AdminInterface.Repository.ArchivedEventRepository;
+import com.LmsProject.AdminInterface.Repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the live event tables small by moving events older than the retention period into
+ * events_archive, where they stay readable through {@link #getArchivedEvents}.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventArchiveService {
+
+    // Events moved per statement (and per transaction), so locks and undo stay small
+    private static final int CHUNK_SIZE = 5000;
+
+    private static final LocalDate NO_START_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate NO_END_DATE = LocalDate.of(9999, 12, 31);
+
+    private final ArchivedEventRepository archivedEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Days past events stay in the live tables
+    @Value("${events.archive.retention-days:365}")
+    private int retentionDays;
+
+    // Moves everything past retention, one chunk per transaction; returns the number of events moved
+    @Scheduled(cron = "${events.archive.cron:0 0 2 * * *}")
+    public int archivePastEvents() {
+        LocalDate before = LocalDate.now().minusDays(retentionDays);
+        int moved = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                List<EventRepository.DeletedEvent> archived = archivedEventRepository.moveToArchive(before, CHUNK_SIZE);
+                publishChanges(archived);
+                return archived.size();
+            });
+            moved += chunk;
+        } while (chunk == CHUNK_SIZE);
+        return moved;
+    }
+
+    // One keyset page of archived events, filtered by batch and/or course within [from, to]
+    public List<EventResponseDTO> getArchivedEvents(String batch, Long courseId, LocalDate from, LocalDate to,
+                                                    String after, Integer size) {
+        EventCursor start = EventCursor.startOf(from != null ? from : NO_START_DATE);
+        if (after != null && !after.isBlank()) {
+            EventCursor cursor = EventCursor.parse(after);
+            start = cursor.isBefore(start) ? start : cursor;
+        }
+        return archivedEventRepository.findArchive(
+                batch == null || batch.isBlank() ? null : batch, courseId,
+                start.getDate(), start.getId(), to != null ? to : NO_END_DATE,
+                PageRequest.of(0, EventService.boundedPageSize(size)));
+    }
+
+    // Archived days leave the live read models, one notice per batch
+    private void publishChanges(List<EventRepository.DeletedEvent> archived) {
+        Map<String, List<EventRepository.DeletedEvent>> byBatch = archived.stream()
+                .collect(Collectors.groupingBy(EventRepository.DeletedEvent::getBatch));
+        byBatch.forEach((batch, events) -> eventPublisher.publishEvent(EventChangeDTO.builder()
+                .eventType("ARCHIVE")
+                .action("DELETED")
+                .date(events.stream().map(EventRepository.DeletedEvent::getDate).min(Comparator.naturalOrder()).orElseThrow())
+                .untilDate(events.stream().map(EventRepository.DeletedEvent::getDate).max(Comparator.naturalOrder()).orElseThrow())
+                .batch(batch)
+                .build()));
+    }
+}
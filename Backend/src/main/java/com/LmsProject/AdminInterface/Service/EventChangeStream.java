@@ -0,0 +1,110 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.LmsProject.AdminInterface.DTO.EventChangeDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed event changes to connected browsers as Server-Sent Events.
+ *
+ * <p>Emitters use async servlet support, so an idle connection holds no request thread. Each subscriber
+ * has its own virtual thread that sends in publish order, so a slow client never delays the writer
+ * or other clients.
+ */
+@Component
+public class EventChangeStream {
+
+    // Clients reconnect on their own (EventSource does) after this long
+    private static final long TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // batch is null for a subscriber that wants every change
+    private record Subscription(SseEmitter emitter, String batch, ExecutorService sender) {
+        boolean wants(EventChangeDTO change) {
+            return batch == null || batch.equals(change.getBatch()) || batch.equals(change.getPreviousBatch());
+        }
+    }
+
+    public SseEmitter subscribe(String batch) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MILLIS);
+        Subscription subscription = new Subscription(emitter, batch == null || batch.isBlank() ? null : batch,
+                Executors.newSingleThreadExecutor(Thread.ofVirtual().name("sse-", 0).factory()));
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(e -> remove(subscription));
+        subscriptions.add(subscription);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangeDTO change) {
+        String id = Long.toString(sequence.incrementAndGet());
+        for (Subscription subscription : subscriptions) {
+            if (subscription.wants(change)) {
+                dispatch(subscription, () -> SseEmitter.event()
+                        .id(id)
+                        .name("event-change")
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    // Comment lines keep proxies from closing idle connections and surface dead ones
+    @Scheduled(fixedRate = 30_000)
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            dispatch(subscription, () -> SseEmitter.event().comment("ping"));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        subscriptions.forEach(subscription -> {
+            subscription.emitter().complete();
+            remove(subscription);
+        });
+    }
+
+    // Each send builds its own event: SseEventBuilder.build() mutates the builder, so one cannot be shared
+    // across subscribers that send concurrently
+    private void dispatch(Subscription subscription, Supplier<SseEmitter.SseEventBuilder> event) {
+        try {
+            subscription.sender().execute(() -> send(subscription, event));
+        } catch (RejectedExecutionException e) {
+            // The subscriber went away while the change was being published
+        }
+    }
+
+    private void send(Subscription subscription, Supplier<SseEmitter.SseEventBuilder> event) {
+        try {
+            subscription.emitter().send(event.get());
+        } catch (IOException | IllegalStateException e) {
+            remove(subscription);
+            subscription.emitter().completeWithError(e);
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.remove(subscription);
+        subscription.sender().shutdown();
+    }
+}
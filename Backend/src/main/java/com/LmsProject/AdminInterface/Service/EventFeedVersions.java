@@ -0,0 +1,75 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.LmsProject.AdminInterface.DTO.EventChangeDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory change versions of the calendar feeds, for ETag and Last-Modified headers.
+ *
+ * <p>A batch's version moves whenever one of its events changes; a student's version moves when
+ * their enrollments change. Versions start over on restart, so tags also carry the boot time and
+ * a restart never produces a false "not modified".
+ */
+@Component
+public class EventFeedVersions {
+
+    private final long bootTime = System.currentTimeMillis();
+    private final AtomicLong counter = new AtomicLong();
+    private final Map<String, Version> batches = new ConcurrentHashMap<>();
+    private final Map<String, Version> students = new ConcurrentHashMap<>();
+
+    // number is 0 until the first change after boot; modifiedAt is in epoch milliseconds
+    public record Version(long number, long modifiedAt) {
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangeDTO change) {
+        bump(batches, change.getBatch());
+        bump(batches, change.getPreviousBatch());
+    }
+
+    // Runs after commit when called inside a transaction
+    public void studentChanged(String username) {
+        AfterCommit.run(() -> bump(students, username));
+    }
+
+    // For writes that change what many students of a batch see, such as bulk enrollment
+    public void batchChanged(String batch) {
+        AfterCommit.run(() -> bump(batches, batch));
+    }
+
+    public String batchETag(String batch) {
+        return "\"" + bootTime + "-" + batchVersion(batch).number() + "\"";
+    }
+
+    public long batchLastModified(String batch) {
+        return batchVersion(batch).modifiedAt();
+    }
+
+    public String studentETag(String username, String batch) {
+        return "\"" + bootTime + "-" + batchVersion(batch).number() + "-" + studentVersion(username).number() + "\"";
+    }
+
+    public long studentLastModified(String username, String batch) {
+        return Math.max(batchVersion(batch).modifiedAt(), studentVersion(username).modifiedAt());
+    }
+
+    private Version batchVersion(String batch) {
+        return batches.getOrDefault(batch, new Version(0, bootTime));
+    }
+
+    private Version studentVersion(String username) {
+        return students.getOrDefault(username, new Version(0, bootTime));
+    }
+
+    private void bump(Map<String, Version> versions, String key) {
+        if (key != null) {
+            versions.put(key, new Version(counter.incrementAndGet(), System.currentTimeMillis()));
+        }
+    }
+}
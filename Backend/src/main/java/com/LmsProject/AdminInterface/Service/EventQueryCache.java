@@ -0,0 +1,188 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.LmsProject.AdminInterface.DTO.CacheStatsDTO;
+import com.LmsProject.AdminInterface.DTO.EventChangeDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Read-model cache in front of the {@link EventService} list queries.
+ *
+ * <p>Entries are keyed by query kind, scope, batch and date window, and indexed by batch and by
+ * student so an eviction only looks at the entries it may concern. When an event changes, only the
+ * entries of its batch whose window overlaps the changed days (before or after the change) are
+ * evicted. Entries also expire after {@link #TTL}, which bounds staleness for anything written
+ * outside this service.
+ *
+ * <p>Every eviction first bumps a generation of the batch or student. A load that started before
+ * the bump may have read the old state, so its result is handed to its callers but not kept.
+ */
+@Component
+public class EventQueryCache {
+
+    private static final long MAX_ENTRIES = 10_000;
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final Map<String, Set<Key>> keysByBatch = new ConcurrentHashMap<>();
+    private final Map<String, Set<Key>> keysByStudent = new ConcurrentHashMap<>();
+    private final Map<String, Long> batchGenerations = new ConcurrentHashMap<>();
+    private final Map<String, Long> studentGenerations = new ConcurrentHashMap<>();
+
+    private final Cache<Key, Object> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(TTL)
+            .removalListener((Key key, Object value, RemovalCause cause) -> unindex(key))
+            .recordStats()
+            .build();
+
+    /**
+     * Returns the cached value for the key, computing it with the loader on a miss. Exceptions thrown
+     * by the loader are passed on and nothing is cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        long[] generation = {-1};
+        Object value = cache.get(key, k -> {
+            generation[0] = generation(k);
+            return loader.get();
+        });
+        if (generation[0] >= 0) {
+            // Indexed after the entry is visible; an eviction since the load began has bumped the generation
+            index(key);
+            if (generation(key) != generation[0]) {
+                cache.asMap().remove(key, value);
+            }
+        }
+        return (T) value;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangeDTO change) {
+        LocalDate until = change.getUntilDate() != null ? change.getUntilDate() : change.getDate();
+        evict(change.getBatch(), change.getDate(), until);
+        if (change.getPreviousBatch() != null || change.getPreviousDate() != null) {
+            LocalDate previousDate = change.getPreviousDate() != null ? change.getPreviousDate() : change.getDate();
+            evict(
+                    change.getPreviousBatch() != null ? change.getPreviousBatch() : change.getBatch(),
+                    previousDate,
+                    previousDate);
+        }
+    }
+
+    /**
+     * Drops everything cached for a student, e.g. after their enrollments change. Inside a transaction
+     * the entries are dropped after commit; a load still running on the old state is not kept.
+     */
+    public void evictStudent(String username) {
+        AfterCommit.run(() -> {
+            studentGenerations.merge(username, 1L, Long::sum);
+            invalidate(keysByStudent.get(username), key -> true);
+        });
+    }
+
+    // Student entries of a whole batch, after bulk writes that touch many of its students
+    public void evictStudentsOfBatch(String batch) {
+        AfterCommit.run(() -> {
+            batchGenerations.merge(batch, 1L, Long::sum);
+            invalidate(keysByBatch.get(batch), key -> Kind.STUDENT_UPCOMING == key.kind());
+        });
+    }
+
+    public CacheStatsDTO getStats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount());
+    }
+
+    // Evicts the batch's entries whose window overlaps [from, until]
+    private void evict(String batch, LocalDate from, LocalDate until) {
+        if (batch == null) {
+            return;
+        }
+        batchGenerations.merge(batch, 1L, Long::sum);
+        invalidate(keysByBatch.get(batch),
+                key -> from == null || (!until.isBefore(key.from()) && !from.isAfter(key.to())));
+    }
+
+    private void invalidate(Set<Key> keys, Predicate<Key> matches) {
+        if (keys != null) {
+            List.copyOf(keys).stream().filter(matches).forEach(cache::invalidate);
+        }
+    }
+
+    // Generations only grow, so their sum changes whenever either does
+    private long generation(Key key) {
+        long generation = key.batch() != null ? batchGenerations.getOrDefault(key.batch(), 0L) : 0L;
+        if (key.kind() == Kind.STUDENT_UPCOMING) {
+            generation += studentGenerations.getOrDefault(key.scope(), 0L);
+        }
+        return generation;
+    }
+
+    private void index(Key key) {
+        if (key.batch() != null) {
+            add(keysByBatch, key.batch(), key);
+        }
+        if (key.kind() == Kind.STUDENT_UPCOMING) {
+            add(keysByStudent, key.scope(), key);
+        }
+    }
+
+    private void unindex(Key key) {
+        if (key.batch() != null) {
+            remove(keysByBatch, key.batch(), key);
+        }
+        if (key.kind() == Kind.STUDENT_UPCOMING) {
+            remove(keysByStudent, key.scope(), key);
+        }
+    }
+
+    private static void add(Map<String, Set<Key>> index, String name, Key key) {
+        index.compute(name, (n, keys) -> {
+            Set<Key> result = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            result.add(key);
+            return result;
+        });
+    }
+
+    // Runs under the same map lock as add, so a key cached again meanwhile stays indexed
+    private void remove(Map<String, Set<Key>> index, String name, Key key) {
+        index.computeIfPresent(name, (n, keys) -> {
+            if (!cache.asMap().containsKey(key)) {
+                keys.remove(key);
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    public enum Kind {
+        UPCOMING,
+        BY_DATE,
+        CALENDAR,
+        STUDENT_UPCOMING
+    }
+
+    /**
+     * Cache key. {@code scope} identifies whose view it is (academic year and semester, or a username)
+     * and {@code page} holds any cursor and page size; {@code from} and {@code to} bound the window.
+     */
+    public record Key(Kind kind, String scope, String batch, LocalDate from, LocalDate to, String page) {
+    }
+}
@@ -0,0 +1,251 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import com.LmsProject.AdminInterface.DTO.EventBasicResponseDTO;
+import com.LmsProject.AdminInterface.DTO.EventChangeDTO;
+import com.LmsProject.AdminInterface.DTO.EventResponseDTO;
+import com.LmsProject.AdminInterface.DTO.EventSeriesResponseDTO;
+import com.LmsProject.AdminInterface.DTO.RecurrenceRuleDTO;
+import com.LmsProject.AdminInterface.DTO.RecurringEventRequestDTO;
+import com.LmsProject.AdminInterface.Model.Course;
+import com.LmsProject.AdminInterface.Model.EventSeries;
+import com.LmsProject.AdminInterface.Model.Semester;
+import com.LmsProject.AdminInterface.Repository.CourseRepository;
+import com.LmsProject.AdminInterface.Repository.EventSeriesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recurring events kept as one rule row each. Reads expand a rule only over the window they ask
+ * for, so a series costs the same to store and to query however many occurrences it has.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventSeriesService {
+
+    private final EventSeriesRepository eventSeriesRepository;
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EventSeriesResponseDTO createSeries(RecurringEventRequestDTO request) {
+        validate(request);
+
+        EventSeries series = new EventSeries();
+        apply(series, request);
+        EventSeries saved = eventSeriesRepository.save(series);
+        publishChange(saved, "CREATED");
+        return mapToResponse(saved);
+    }
+
+    @Transactional
+    public EventSeriesResponseDTO updateSeries(Long id, RecurringEventRequestDTO request) {
+        EventSeries series = eventSeriesRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Event series not found with id: " + id));
+        validate(request);
+
+        // The days the series covered before the change need refreshing as well
+        publishChange(series, "UPDATED");
+        apply(series, request);
+        EventSeries saved = eventSeriesRepository.save(series);
+        publishChange(saved, "UPDATED");
+        return mapToResponse(saved);
+    }
+
+    public void deleteSeries(Long id) {
+        EventSeries series = eventSeriesRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Event series not found with id: " + id));
+        eventSeriesRepository.delete(series);
+        publishChange(series, "DELETED");
+    }
+
+    /**
+     * Removes the occurrences of matching series (batch, course, date range) for a purge. A series
+     * inside the range is deleted; one reaching past it keeps only its occurrences outside the range,
+     * split in two when the range falls in its middle. Returns the number of series changed.
+     */
+    @Transactional
+    public int purgeSeries(String batch, Long courseId, LocalDate from, LocalDate to) {
+        List<EventSeries> matching = eventSeriesRepository.findMatching(batch, courseId, from, to);
+        for (EventSeries series : matching) {
+            publishChange(series, "UPDATED");
+            Set<DayOfWeek> days = RecurrenceRules.parseDays(series.getDaysOfWeek());
+            // Last occurrence before the range and first one after it, if any
+            List<LocalDate> before = from == null ? List.of() : RecurrenceRules.expand(series.getStartDate(),
+                    series.getEndDate(), days, series.getIntervalWeeks(), series.getStartDate(), from.minusDays(1));
+            List<LocalDate> after = to == null ? List.of() : RecurrenceRules.expand(series.getStartDate(),
+                    series.getEndDate(), days, series.getIntervalWeeks(), to.plusDays(1), series.getEndDate());
+
+            if (!after.isEmpty()) {
+                // Starting on an occurrence keeps the week interval aligned
+                EventSeries tail = before.isEmpty() ? series : copyOf(series);
+                tail.setStartDate(after.get(0));
+                eventSeriesRepository.save(tail);
+            }
+            if (!before.isEmpty()) {
+                series.setEndDate(before.get(before.size() - 1));
+                eventSeriesRepository.save(series);
+            }
+            if (before.isEmpty() && after.isEmpty()) {
+                eventSeriesRepository.delete(series);
+            }
+        }
+        return matching.size();
+    }
+
+    public EventSeriesResponseDTO getSeries(Long id) {
+        return eventSeriesRepository.findById(id)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new RuntimeException("Event series not found with id: " + id));
+    }
+
+    /**
+     * Details of one occurrence, addressed by its series and date since occurrences have no event id.
+     * Shaped like a stored event's details with the id left empty.
+     */
+    @Transactional(readOnly = true)
+    public EventResponseDTO getOccurrence(Long id, LocalDate date) {
+        EventSeries series = eventSeriesRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Event series not found with id: " + id));
+        if (RecurrenceRules.expand(series.getStartDate(), series.getEndDate(),
+                RecurrenceRules.parseDays(series.getDaysOfWeek()), series.getIntervalWeeks(), date, date).isEmpty()) {
+            throw new RuntimeException("Event series " + id + " has no occurrence on " + date);
+        }
+
+        Course course = series.getCourse();
+        Semester semester = course != null ? course.getSemester() : null;
+        return EventResponseDTO.builder()
+                .title(series.getTitle())
+                .date(date)
+                .description(series.getDescription())
+                .createdBy(series.getCreatedBy())
+                .eventType(course != null ? "COURSE_EVENT" : "BATCH_EVENT")
+                .courseId(course != null ? course.getCourseId() : null)
+                .courseName(course != null ? course.getName() : null)
+                .semesterId(semester != null ? semester.getSemesterId() : null)
+                .semesterName(semester != null ? semester.getSemesterName() : null)
+                .academicYear(semester != null ? semester.getAcademicYear() : null)
+                .batch(series.getBatch())
+                .build();
+    }
+
+    // Occurrences within [from, to] of the series a batch sees in a semester
+    public List<EventBasicResponseDTO> getSemesterOccurrences(String academicYear, String semesterId, String batch,
+                                                              LocalDate from, LocalDate to) {
+        return expand(eventSeriesRepository.findSemesterSeries(academicYear, semesterId, batch, from, to), from, to);
+    }
+
+    // Occurrences within [from, to] of the series of the given courses and of the batch
+    public List<EventBasicResponseDTO> getCourseOccurrences(List<Long> courseIds, String batch,
+                                                            LocalDate from, LocalDate to) {
+        return expand(eventSeriesRepository.findCourseSeries(courseIds, batch, from, to), from, to);
+    }
+
+    // Occurrences within [from, to] of the series a student sees through their enrollments and batch
+    public List<EventBasicResponseDTO> getStudentOccurrences(String username, String batch, LocalDate from, LocalDate to) {
+        return expand(eventSeriesRepository.findStudentSeries(username, batch, from, to), from, to);
+    }
+
+    private List<EventBasicResponseDTO> expand(List<EventSeries> seriesList, LocalDate from, LocalDate to) {
+        List<EventBasicResponseDTO> occurrences = new ArrayList<>();
+        for (EventSeries series : seriesList) {
+            Long courseId = series.getCourse() != null ? series.getCourse().getCourseId() : null;
+            for (LocalDate date : RecurrenceRules.expand(series.getStartDate(), series.getEndDate(),
+                    RecurrenceRules.parseDays(series.getDaysOfWeek()), series.getIntervalWeeks(), from, to)) {
+                occurrences.add(new EventBasicResponseDTO(null, series.getTitle(), date, courseId,
+                        courseId != null ? "COURSE_EVENT" : "BATCH_EVENT", series.getId()));
+            }
+        }
+        occurrences.sort(Comparator.comparing(EventBasicResponseDTO::getDate));
+        return occurrences;
+    }
+
+    private void validate(RecurringEventRequestDTO request) {
+        List<String> errors = new ArrayList<>();
+        if (request.getTitle() == null || request.getTitle().isBlank()) {
+            errors.add("series: title is required");
+        }
+        if (request.getDescription() == null) {
+            errors.add("series: description is required");
+        }
+        if (request.getCreatedBy() == null || request.getCreatedBy().isBlank()) {
+            errors.add("series: createdBy is required");
+        }
+        if (request.getBatch() == null || request.getBatch().isBlank()) {
+            errors.add("series: batch is required");
+        }
+        RecurrenceRules.validate(request.getRecurrence(), "series", errors);
+        if (request.getCourseId() != null && !courseRepository.existsById(request.getCourseId())) {
+            errors.add("series: course not found with id: " + request.getCourseId());
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+    }
+
+    private void apply(EventSeries series, RecurringEventRequestDTO request) {
+        RecurrenceRuleDTO rule = request.getRecurrence();
+        series.setTitle(request.getTitle());
+        series.setDescription(request.getDescription());
+        series.setCreatedBy(request.getCreatedBy());
+        series.setCourse(request.getCourseId() != null ? courseRepository.getReferenceById(request.getCourseId()) : null);
+        series.setBatch(request.getBatch());
+        series.setStartDate(rule.getStartDate());
+        series.setEndDate(rule.getEndDate());
+        series.setDaysOfWeek(RecurrenceRules.formatDays(rule.getDaysOfWeek()));
+        series.setIntervalWeeks(rule.getIntervalWeeks() != null ? rule.getIntervalWeeks() : 1);
+    }
+
+
+    private static EventSeries copyOf(EventSeries series) {
+        return EventSeries.builder()
+                .title(series.getTitle())
+                .description(series.getDescription())
+                .createdBy(series.getCreatedBy())
+                .course(series.getCourse())
+                .batch(series.getBatch())
+                .startDate(series.getStartDate())
+                .endDate(series.getEndDate())
+                .daysOfWeek(series.getDaysOfWeek())
+                .intervalWeeks(series.getIntervalWeeks())
+                .build();
+    }
+
+    // Tells listeners (such as the query cache) which batch and days a series write touched
+    private void publishChange(EventSeries series, String action) {
+        eventPublisher.publishEvent(EventChangeDTO.builder()
+                .id(series.getId())
+                .eventType("EVENT_SERIES")
+                .action(action)
+                .date(series.getStartDate())
+                .untilDate(series.getEndDate())
+                .batch(series.getBatch())
+                .build());
+    }
+
+    private EventSeriesResponseDTO mapToResponse(EventSeries series) {
+        Long courseId = series.getCourse() != null ? series.getCourse().getCourseId() : null;
+        return EventSeriesResponseDTO.builder()
+                .id(series.getId())
+                .title(series.getTitle())
+                .description(series.getDescription())
+                .createdBy(series.getCreatedBy())
+                .eventType(courseId != null ? "COURSE_EVENT" : "BATCH_EVENT")
+                .courseId(courseId)
+                .batch(series.getBatch())
+                .recurrence(RecurrenceRuleDTO.builder()
+                        .startDate(series.getStartDate())
+                        .endDate(series.getEndDate())
+                        .daysOfWeek(RecurrenceRules.parseDays(series.getDaysOfWeek()))
+                        .intervalWeeks(series.getIntervalWeeks())
+                        .build())
+                .build();
+    }
+}
@@ -1,38 +1,95 @@
 package com.LmsProject.AdminInterface.Service;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 
 import com.LmsProject.AdminInterface.DTO.BatchEventRequestDTO;
+import com.LmsProject.AdminInterface.DTO.BulkEventRequestDTO;
+import com.LmsProject.AdminInterface.DTO.BulkEventResultDTO;
+import com.LmsProject.AdminInterface.DTO.CalendarDayDTO;
 import com.LmsProject.AdminInterface.DTO.CourseEventRequestDTO;
 import com.LmsProject.AdminInterface.DTO.EventBasicResponseDTO;
+import com.LmsProject.AdminInterface.DTO.EventChangeDTO;
+import com.LmsProject.AdminInterface.DTO.EventCursor;
+import com.LmsProject.AdminInterface.DTO.EventPageDTO;
+import com.LmsProject.AdminInterface.DTO.EventPurgeResultDTO;
 import com.LmsProject.AdminInterface.DTO.EventResponseDTO;
+import com.LmsProject.AdminInterface.DTO.EventSearchResultDTO;
+import com.LmsProject.AdminInterface.DTO.RecurringEventRequestDTO;
 import com.LmsProject.AdminInterface.Exception.NoEventFoundException;
 import com.LmsProject.AdminInterface.Model.*;
+import com.LmsProject.AdminInterface.Repository.ArchivedEventRepository;
 import com.LmsProject.AdminInterface.Repository.BatchEventRepository;
 import com.LmsProject.AdminInterface.Repository.CourseEventRepository;
 import com.LmsProject.AdminInterface.Repository.CourseRepository;
-import com.LmsProject.AdminInterface.Repository.EnrollmentRepository;
+import com.LmsProject.AdminInterface.Repository.EventBatchInsertRepository;
+import com.LmsProject.AdminInterface.Repository.EventRepository;
+import com.LmsProject.AdminInterface.Repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class EventService {
 
+    // Page size of bounded lists when the client does not ask for one, and the largest it may ask for
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    // Most events a single bulk request may create
+    private static final int MAX_BULK_EVENTS = 5000;
+
+    // Widest window the calendar endpoint serves
+    private static final int MAX_CALENDAR_DAYS = 366;
+    private static final TypeReference<List<EventBasicResponseDTO>> CALENDAR_EVENTS = new TypeReference<>() {
+    };
+
+    // Bounds for timelines without a start or end date
+    private static final LocalDate NO_START_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate NO_END_DATE = LocalDate.of(9999, 12, 31);
+
+    private final EventRepository eventRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final EventBatchInsertRepository eventBatchInsertRepository;
     private final CourseEventRepository courseEventRepository;
     private final BatchEventRepository batchEventRepository;
-    private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final EventSeriesService eventSeriesService;
+    private final StudentEventFeedService studentEventFeedService;
+    private final StudentEventVisibilityService studentEventVisibilityService;
+    private final EventQueryCache eventQueryCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
 
 
     //Get all Upcoming basic events details from now onwards
     public List<EventBasicResponseDTO> getUpcomingBasicEvents(String academicYear, String semesterId, String batch) {
+        return getUpcomingBasicEvents(academicYear, semesterId, batch, null, null).getEvents();
+    }
+
+    // Upcoming basic events, one keyset page at a time when a page size is given
+    public EventPageDTO getUpcomingBasicEvents(String academicYear, String semesterId, String batch,
+                                               String after, Integer size) {
         if (academicYear == null || academicYear.isBlank() ||
                 semesterId == null || semesterId.isBlank() ||
                 batch == null || batch.isBlank()) {
@@ -40,20 +97,17 @@ public class EventService {
         }
 
         LocalDate currentDate = LocalDate.now();
-
-        List<CourseEvent> courseEvents = courseEventRepository
-                .findByCourse_Semester_AcademicYearAndCourse_Semester_SemesterIdAndBatchAndDateGreaterThanEqual(
-                        academicYear, semesterId, batch, currentDate);
-        List<BatchEvent> batchEvents = batchEventRepository.findByBatchAndDateGreaterThanEqual(batch, currentDate);
-
-        List<EventBasicResponseDTO> results = new ArrayList<>();
-        courseEvents.forEach(e -> results.add(mapToBasicResponse(e)));
-        batchEvents.forEach(e -> results.add(mapToBasicResponse(e)));
-
-        // Sort by date (ascending)
-        results.sort(Comparator.comparing(EventBasicResponseDTO::getDate));
-
-        return results;
+        EventQueryCache.Key key = new EventQueryCache.Key(EventQueryCache.Kind.UPCOMING,
+                academicYear + "/" + semesterId, batch, currentDate, NO_END_DATE, after + "/" + size);
+        return eventQueryCache.get(key, () -> {
+            EventCursor start = startAfter(currentDate, after);
+            Pageable page = page(size);
+            List<EventBasicResponseDTO> stored = eventRepository.findSemesterTimeline(
+                    academicYear, semesterId, batch, start.getDate(), start.getId(), NO_END_DATE, page);
+            List<EventBasicResponseDTO> events = withOccurrences(stored, start, NO_END_DATE, page,
+                    (from, to) -> eventSeriesService.getSemesterOccurrences(academicYear, semesterId, batch, from, to));
+            return page.isPaged() ? limit(events, stored, page.getPageSize()) : new EventPageDTO(events, null);
+        });
     }
 
     // Get basic events for specific date
@@ -64,82 +118,126 @@ public class EventService {
             throw new IllegalArgumentException("All parameters (academicYear, semesterId, batch, date) must be provided");
         }
 
-        List<CourseEvent> courseEvents = courseEventRepository
-                .findByCourse_Semester_AcademicYearAndCourse_Semester_SemesterIdAndBatchAndDate(
-                        academicYear, semesterId, batch, date);
-
-        List<BatchEvent> batchEvents = batchEventRepository.findByBatchAndDate(batch, date);
+        EventQueryCache.Key key = new EventQueryCache.Key(EventQueryCache.Kind.BY_DATE,
+                academicYear + "/" + semesterId, batch, date, date, null);
+        return eventQueryCache.get(key, () -> {
+            EventCursor start = EventCursor.startOf(date);
+            List<EventBasicResponseDTO> results = new ArrayList<>(eventRepository.findSemesterTimeline(
+                    academicYear, semesterId, batch, start.getDate(), start.getId(), date, Pageable.unpaged()));
+            results.addAll(eventSeriesService.getSemesterOccurrences(academicYear, semesterId, batch, date, date));
 
-        List<EventBasicResponseDTO> results = new ArrayList<>();
-        courseEvents.forEach(e -> results.add(mapToBasicResponse(e)));
-        batchEvents.forEach(e -> results.add(mapToBasicResponse(e)));
+            // Sort by title (or any other field you prefer)
+            results.sort(Comparator.comparing(EventBasicResponseDTO::getTitle));
 
-        // Sort by title (or any other field you prefer)
-        results.sort(Comparator.comparing(EventBasicResponseDTO::getTitle));
-
-        return results;
+            return results;
+        });
     }
 
-    //specific eventful details
-    public EventResponseDTO getUpcomingEventDetails(Long eventId) {
-        LocalDate currentDate = LocalDate.now();
-
-        // Try to find in course events first
-        Optional<CourseEvent> courseEvent = courseEventRepository.findByIdAndDateGreaterThanEqual(eventId, currentDate);
-        if (courseEvent.isPresent()) {
-            return mapToResponse(courseEvent.get());
+    // Events of a date window grouped per day, for rendering a calendar month in one request
+    public List<CalendarDayDTO> getCalendarRange(String academicYear, String semesterId, String batch,
+                                                 LocalDate from, LocalDate to) {
+        if (academicYear == null || academicYear.isBlank() ||
+                semesterId == null || semesterId.isBlank() ||
+                batch == null || batch.isBlank() || from == null || to == null) {
+            throw new IllegalArgumentException("All parameters (academicYear, semesterId, batch, from, to) must be provided");
         }
-
-        // If not found, try batch events
-        Optional<BatchEvent> batchEvent = batchEventRepository.findByIdAndDateGreaterThanEqual(eventId, currentDate);
-        if (batchEvent.isPresent()) {
-            return mapToResponse(batchEvent.get());
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("Calendar range must not exceed " + MAX_CALENDAR_DAYS + " days");
         }
 
-        throw new RuntimeException("Upcoming event not found with id: " + eventId);
+        EventQueryCache.Key key = new EventQueryCache.Key(EventQueryCache.Kind.CALENDAR,
+                academicYear + "/" + semesterId, batch, from, to, null);
+        return eventQueryCache.get(key, () -> {
+            // Stored events come aggregated per day; series occurrences are expanded and added to their day
+            Map<LocalDate, CalendarDayDTO> days = new TreeMap<>();
+            for (EventRepository.CalendarDay day : eventRepository.findSemesterCalendar(academicYear, semesterId, batch, from, to)) {
+                List<EventBasicResponseDTO> events = readCalendarEvents(day.getEvents());
+                events.forEach(event -> event.setDate(day.getDate()));
+                days.put(day.getDate(), new CalendarDayDTO(day.getDate(), (int) day.getEventCount(), events));
+            }
+            for (EventBasicResponseDTO occurrence : eventSeriesService.getSemesterOccurrences(academicYear, semesterId, batch, from, to)) {
+                CalendarDayDTO day = days.computeIfAbsent(occurrence.getDate(), date -> new CalendarDayDTO(date, 0, new ArrayList<>()));
+                day.getEvents().add(occurrence);
+                day.setEventCount(day.getEventCount() + 1);
+            }
+            return new ArrayList<>(days.values());
+        });
     }
 
-    // Get full details of a specific event by ID (for date-specific events)
-    public EventResponseDTO getEventDetails(Long eventId) {
-        // Try to find in course events first
-        Optional<CourseEvent> courseEvent = courseEventRepository.findById(eventId);
-        if (courseEvent.isPresent()) {
-            return mapToResponse(courseEvent.get());
+    private List<EventBasicResponseDTO> readCalendarEvents(String json) {
+        try {
+            return objectMapper.readValue(json, CALENDAR_EVENTS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable calendar row: " + json, e);
         }
+    }
 
-        // If not found, try batch events
-        Optional<BatchEvent> batchEvent = batchEventRepository.findById(eventId);
-        if (batchEvent.isPresent()) {
-            return mapToResponse(batchEvent.get());
-        }
+    //specific eventful details
+    public EventResponseDTO getUpcomingEventDetails(Long eventId) {
+        return eventRepository.findEventDetails(eventId, LocalDate.now())
+                .orElseThrow(() -> new RuntimeException("Upcoming event not found with id: " + eventId));
+    }
 
-        throw new RuntimeException("Event not found with id: " + eventId);
+    // Get full details of a specific event by ID (for date-specific events)
+    public EventResponseDTO getEventDetails(Long eventId) {
+        return eventRepository.findEventDetails(eventId, NO_START_DATE)
+                .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
     }
 
-    public List<EventResponseDTO> getEventsByAcademicYearSemesterAndBatch(String academicYear, String semesterId, String batch) {
+    // One bounded keyset page of the full events of a semester and batch, optionally within [from, to]
+    public List<EventResponseDTO> getEventsByAcademicYearSemesterAndBatch(String academicYear, String semesterId, String batch,
+                                                                        LocalDate from, LocalDate to,
+                                                                        String after, Integer size) {
         if (academicYear == null || academicYear.isBlank() ||
                 semesterId == null || semesterId.isBlank() ||
                 batch == null || batch.isBlank()) {
             throw new IllegalArgumentException("All parameters (academicYear, semesterId, batch) must be provided");
         }
 
-        // Use academicYear for course events filtering
-        List<CourseEvent> courseEvents = courseEventRepository
-                .findByCourse_Semester_AcademicYearAndCourse_Semester_SemesterIdAndBatch(
-                        academicYear, semesterId, batch);
-
-        List<BatchEvent> batchEvents = batchEventRepository.findByBatch(batch);
+        EventCursor start = startAfter(from != null ? from : NO_START_DATE, after);
+        return eventRepository.findSemesterEventDetails(
+                academicYear, semesterId, batch, start.getDate(), start.getId(),
+                to != null ? to : NO_END_DATE, PageRequest.of(0, boundedPageSize(size)));
+    }
 
-        List<EventResponseDTO> results = new ArrayList<>();
-        courseEvents.forEach(e -> results.add(mapToResponse(e)));
-        batchEvents.forEach(e -> results.add(mapToResponse(e)));
+    // Ranked full-text search over titles and descriptions, one offset page at a time
+    public List<EventSearchResultDTO> searchEvents(String query, String batch, String semesterId,
+                                                   LocalDate from, LocalDate to, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must be provided");
+        }
+        if (page != null && page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
 
-        return results;
+        return eventRepository.searchEvents(query.trim(),
+                        batch == null || batch.isBlank() ? null : batch,
+                        semesterId == null || semesterId.isBlank() ? null : semesterId,
+                        from, to, PageRequest.of(page != null ? page : 0, boundedPageSize(size)))
+                .stream()
+                .map(hit -> EventSearchResultDTO.builder()
+                        .id(hit.getId())
+                        .title(hit.getTitle())
+                        .date(hit.getDate())
+                        .description(hit.getDescription())
+                        .eventType(hit.getEventType())
+                        .courseId(hit.getCourseId())
+                        .courseName(hit.getCourseName())
+                        .batch(hit.getBatch())
+                        .rank(hit.getRank())
+                        .build())
+                .collect(Collectors.toList());
     }
 
+    @Transactional
     public EventResponseDTO createCourseEvent(CourseEventRequestDTO request) {
-        Course course = courseRepository.findById(request.getCourseId())
-                .orElseThrow(() -> new RuntimeException("Course not found with id: " + request.getCourseId()));
+        if (request.getCourseId() == null || !courseRepository.existsById(request.getCourseId())) {
+            throw new RuntimeException("Course not found with id: " + request.getCourseId());
+        }
+        Course course = courseRepository.getReferenceById(request.getCourseId());
 
         CourseEvent event = CourseEvent.builder()
                 .title(request.getTitle())
@@ -150,9 +248,13 @@ public class EventService {
                 .batch(request.getBatch())
                 .build();
 
-        return mapToResponse(courseEventRepository.save(event));
+        CourseEvent saved = courseEventRepository.save(event);
+        studentEventFeedService.eventsCreated(List.of(saved.getId()));
+        publishChange(saved, "CREATED", null, null);
+        return details(saved.getId());
     }
 
+    @Transactional
     public EventResponseDTO createBatchEvent(BatchEventRequestDTO request) {
         BatchEvent event = BatchEvent.builder()
                 .title(request.getTitle())
@@ -162,28 +264,227 @@ public class EventService {
                 .batch(request.getBatch())
                 .build();
 
-        return mapToResponse(batchEventRepository.save(event));
+        BatchEvent saved = batchEventRepository.save(event);
+        studentEventFeedService.eventsCreated(List.of(saved.getId()));
+        publishChange(saved, "CREATED", null, null);
+        return details(saved.getId());
     }
 
 
 
 
+    /**
+     * Creates course and batch events, and the occurrences of recurring events, in one transaction.
+     * Everything is validated first and nothing is written if any row is invalid.
+     */
+    @Transactional
+    public BulkEventResultDTO createEventsInBulk(BulkEventRequestDTO request) {
+        List<String> errors = new ArrayList<>();
+        List<CourseEvent> courseEvents = new ArrayList<>();
+        List<BatchEvent> batchEvents = new ArrayList<>();
+
+        List<CourseEventRequestDTO> courseRequests = request.getCourseEvents() != null ? request.getCourseEvents() : List.of();
+        for (int i = 0; i < courseRequests.size(); i++) {
+            CourseEventRequestDTO row = courseRequests.get(i);
+            validateEventFields("courseEvents[" + i + "]", row.getTitle(), row.getDescription(), row.getCreatedBy(), row.getBatch(), errors);
+            if (row.getDate() == null) {
+                errors.add("courseEvents[" + i + "]: date is required");
+            }
+            if (row.getCourseId() == null) {
+                errors.add("courseEvents[" + i + "]: courseId is required");
+            }
+            courseEvents.add(CourseEvent.builder()
+                    .title(row.getTitle())
+                    .date(row.getDate())
+                    .description(row.getDescription())
+                    .createdBy(row.getCreatedBy())
+                    .course(courseReference(row.getCourseId()))
+                    .batch(row.getBatch())
+                    .build());
+        }
+
+        List<BatchEventRequestDTO> batchRequests = request.getBatchEvents() != null ? request.getBatchEvents() : List.of();
+        for (int i = 0; i < batchRequests.size(); i++) {
+            BatchEventRequestDTO row = batchRequests.get(i);
+            validateEventFields("batchEvents[" + i + "]", row.getTitle(), row.getDescription(), row.getCreatedBy(), row.getBatch(), errors);
+            if (row.getDate() == null) {
+                errors.add("batchEvents[" + i + "]: date is required");
+            }
+            batchEvents.add(BatchEvent.builder()
+                    .title(row.getTitle())
+                    .date(row.getDate())
+                    .description(row.getDescription())
+                    .createdBy(row.getCreatedBy())
+                    .batch(row.getBatch())
+                    .build());
+        }
+
+        List<RecurringEventRequestDTO> recurringRequests = request.getRecurringEvents() != null ? request.getRecurringEvents() : List.of();
+        for (int i = 0; i < recurringRequests.size(); i++) {
+            RecurringEventRequestDTO row = recurringRequests.get(i);
+            String label = "recurringEvents[" + i + "]";
+            validateEventFields(label, row.getTitle(), row.getDescription(), row.getCreatedBy(), row.getBatch(), errors);
+            int errorCount = errors.size();
+            RecurrenceRules.validate(row.getRecurrence(), label, errors);
+            if (errors.size() > errorCount) {
+                continue;
+            }
+            for (LocalDate date : RecurrenceRules.expand(row.getRecurrence(), row.getRecurrence().getStartDate(), row.getRecurrence().getEndDate())) {
+                if (row.getCourseId() != null) {
+                    courseEvents.add(CourseEvent.builder()
+                            .title(row.getTitle())
+                            .date(date)
+                            .description(row.getDescription())
+                            .createdBy(row.getCreatedBy())
+                            .course(courseReference(row.getCourseId()))
+                            .batch(row.getBatch())
+                            .build());
+                } else {
+                    batchEvents.add(BatchEvent.builder()
+                            .title(row.getTitle())
+                            .date(date)
+                            .description(row.getDescription())
+                            .createdBy(row.getCreatedBy())
+                            .batch(row.getBatch())
+                            .build());
+                }
+            }
+        }
+
+        int total = courseEvents.size() + batchEvents.size();
+        if (total == 0) {
+            errors.add("No events to create");
+        } else if (total > MAX_BULK_EVENTS) {
+            errors.add("A bulk request may create at most " + MAX_BULK_EVENTS + " events, got " + total);
+        }
+
+        Set<Long> courseIds = courseEvents.stream()
+                .map(e -> e.getCourse().getCourseId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!courseIds.isEmpty()) {
+            Set<Long> missing = new TreeSet<>(courseIds);
+            courseRepository.findExistingCourseIds(courseIds).forEach(missing::remove);
+            if (!missing.isEmpty()) {
+                errors.add("Courses not found: " + missing);
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+
+        List<Long> ids = eventBatchInsertRepository.reserveIds(total);
+        for (int i = 0; i < courseEvents.size(); i++) {
+            courseEvents.get(i).setId(ids.get(i));
+        }
+        for (int i = 0; i < batchEvents.size(); i++) {
+            batchEvents.get(i).setId(ids.get(courseEvents.size() + i));
+        }
+        eventBatchInsertRepository.insertCourseEvents(courseEvents);
+        eventBatchInsertRepository.insertBatchEvents(batchEvents);
+        studentEventFeedService.eventsCreated(ids);
+
+        // One notice per batch spanning the created days, rather than one per event
+        Map<String, List<LocalDate>> datesByBatch = new LinkedHashMap<>();
+        courseEvents.forEach(e -> datesByBatch.computeIfAbsent(e.getBatch(), b -> new ArrayList<>()).add(e.getDate()));
+        batchEvents.forEach(e -> datesByBatch.computeIfAbsent(e.getBatch(), b -> new ArrayList<>()).add(e.getDate()));
+        datesByBatch.forEach((eventBatch, dates) -> eventPublisher.publishEvent(EventChangeDTO.builder()
+                .eventType("BULK")
+                .action("CREATED")
+                .date(dates.stream().min(Comparator.naturalOrder()).orElseThrow())
+                .untilDate(dates.stream().max(Comparator.naturalOrder()).orElseThrow())
+                .batch(eventBatch)
+                .build()));
+
+        return new BulkEventResultDTO(courseEvents.size(), batchEvents.size(), ids);
+    }
+
+    private void validateEventFields(String label, String title, String description, String createdBy, String batch,
+                                     List<String> errors) {
+        if (title == null || title.isBlank()) {
+            errors.add(label + ": title is required");
+        }
+        if (description == null) {
+            errors.add(label + ": description is required");
+        }
+        if (createdBy == null || createdBy.isBlank()) {
+            errors.add(label + ": createdBy is required");
+        }
+        if (batch == null || batch.isBlank()) {
+            errors.add(label + ": batch is required");
+        }
+    }
+
+    // Course carrying only its id; bulk inserts never need the rest of the course
+    private Course courseReference(Long courseId) {
+        Course course = new Course();
+        course.setCourseId(courseId);
+        return course;
+    }
+
+    // Removes the event from all tables of the hierarchy and the student feed in one statement
+    @Transactional
     public void deleteEvent(Long id) {
-        if (courseEventRepository.existsById(id)) {
-            courseEventRepository.deleteById(id);
-        } else if (batchEventRepository.existsById(id)) {
-            batchEventRepository.deleteById(id);
-        } else {
+        List<EventRepository.DeletedEvent> deleted = eventRepository.deleteEvent(id);
+        if (deleted.isEmpty()) {
             throw new RuntimeException("Event not found with id: " + id);
         }
+        EventRepository.DeletedEvent event = deleted.get(0);
+        eventPublisher.publishEvent(EventChangeDTO.builder()
+                .id(event.getId())
+                .eventType(event.getEventType())
+                .action("DELETED")
+                .date(event.getDate())
+                .batch(event.getBatch())
+                .build());
     }
 
+    /**
+     * Deletes every event matching all given filters (batch, course, date range) in one statement,
+     * together with matching archived events and the occurrences of matching recurring series.
+     * At least one filter is required so a request can never wipe the whole table.
+     */
+    @Transactional
+    public EventPurgeResultDTO purgeEvents(String batch, Long courseId, LocalDate from, LocalDate to) {
+        if ((batch == null || batch.isBlank()) && courseId == null && from == null && to == null) {
+            throw new IllegalArgumentException("At least one of batch, courseId, from or to must be provided");
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+
+        String batchFilter = batch == null || batch.isBlank() ? null : batch;
+        List<EventRepository.DeletedEvent> deleted = eventRepository.deleteMatching(batchFilter, courseId, from, to);
+        int archivedDeleted = archivedEventRepository.deleteMatching(batchFilter, courseId, from, to);
+        int seriesChanged = eventSeriesService.purgeSeries(batchFilter, courseId, from, to);
+
+        // One notice per batch spanning the deleted days, rather than one per event
+        Map<String, List<EventRepository.DeletedEvent>> byBatch = deleted.stream()
+                .collect(Collectors.groupingBy(EventRepository.DeletedEvent::getBatch));
+        byBatch.forEach((eventBatch, events) -> eventPublisher.publishEvent(EventChangeDTO.builder()
+                .eventType("PURGE")
+                .action("DELETED")
+                .date(events.stream().map(EventRepository.DeletedEvent::getDate).min(Comparator.naturalOrder()).orElseThrow())
+                .untilDate(events.stream().map(EventRepository.DeletedEvent::getDate).max(Comparator.naturalOrder()).orElseThrow())
+                .batch(eventBatch)
+                .build()));
+
+        return new EventPurgeResultDTO(deleted.size(), archivedDeleted, seriesChanged);
+    }
+
+    @Transactional
     public EventResponseDTO updateCourseEvent(Long id, CourseEventRequestDTO request) {
         CourseEvent event = courseEventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("CourseEvent not found with id: " + id));
 
-        Course course = courseRepository.findById(request.getCourseId())
-                .orElseThrow(() -> new RuntimeException("Course not found with id: " + request.getCourseId()));
+        if (request.getCourseId() == null || !courseRepository.existsById(request.getCourseId())) {
+            throw new RuntimeException("Course not found with id: " + request.getCourseId());
+        }
+        Course course = courseRepository.getReferenceById(request.getCourseId());
+
+        LocalDate previousDate = event.getDate();
+        String previousBatch = event.getBatch();
 
         event.setTitle(request.getTitle());
         event.setDate(request.getDate());
@@ -192,65 +493,143 @@ public class EventService {
         event.setCourse(course);
         event.setBatch(request.getBatch());
 
-        return mapToResponse(courseEventRepository.save(event));
+        CourseEvent saved = courseEventRepository.save(event);
+        studentEventFeedService.eventsUpdated(List.of(id));
+        publishChange(saved, "UPDATED", previousDate, previousBatch);
+        return details(saved.getId());
     }
 
+    @Transactional
     public EventResponseDTO updateBatchEvent(Long id, BatchEventRequestDTO request) {
         BatchEvent event = batchEventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("BatchEvent not found with id: " + id));
 
+        LocalDate previousDate = event.getDate();
+        String previousBatch = event.getBatch();
+
         event.setTitle(request.getTitle());
         event.setDate(request.getDate());
         event.setDescription(request.getDescription());
         event.setCreatedBy(request.getCreatedBy());
         event.setBatch(request.getBatch());
 
-        return mapToResponse(batchEventRepository.save(event));
+        BatchEvent saved = batchEventRepository.save(event);
+        studentEventFeedService.eventsUpdated(List.of(id));
+        publishChange(saved, "UPDATED", previousDate, previousBatch);
+        return details(saved.getId());
     }
 
-    private EventResponseDTO mapToResponse(Event event) {
-        EventResponseDTO.EventResponseDTOBuilder builder = EventResponseDTO.builder()
+    // Tells listeners (such as the query cache) which batch and day an event write touched
+    private void publishChange(Event event, String action, LocalDate previousDate, String previousBatch) {
+        boolean courseEvent = event instanceof CourseEvent;
+        eventPublisher.publishEvent(EventChangeDTO.builder()
                 .id(event.getId())
-                .title(event.getTitle())
+                .eventType(courseEvent ? "COURSE_EVENT" : "BATCH_EVENT")
+                .action(action)
                 .date(event.getDate())
-                .description(event.getDescription())
-                .createdBy(event.getCreatedBy());
-
-
-        if (event instanceof CourseEvent courseEvent) {
-            builder.eventType("COURSE_EVENT")
-                    .courseId(courseEvent.getCourse().getCourseId())
-                    .semesterId(courseEvent.getCourse().getSemester().getSemesterId())
-                    .semesterName(courseEvent.getCourse().getSemester().getSemesterName())
-                    .courseName(courseEvent.getCourse().getName())
-                    .batch(courseEvent.getBatch()) // Now using the direct batch field
-                    .academicYear(courseEvent.getCourse().getSemester().getAcademicYear());
-
-        } else if (event instanceof BatchEvent batchEvent) {
-            builder.eventType("BATCH_EVENT")
-                    .batch(batchEvent.getBatch());
-        } else {
-            builder.eventType("GENERAL_EVENT");
-        }
-        return builder.build();
+                .batch(courseEvent ? ((CourseEvent) event).getBatch() : ((BatchEvent) event).getBatch())
+                .previousDate(previousDate)
+                .previousBatch(previousBatch)
+                .build());
     }
 
+    // Response row of an event just written, projected like every other event read
+    private EventResponseDTO details(Long eventId) {
+        return eventRepository.findEventDetails(eventId, NO_START_DATE)
+                .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
+    }
 
-    private EventBasicResponseDTO mapToBasicResponse(Event event) {
-        return EventBasicResponseDTO.builder()
-                .id(event.getId())
-                .title(event.getTitle())
-                .date(event.getDate())
-                .eventType(event instanceof CourseEvent ? "COURSE_EVENT" : "BATCH_EVENT")
-                .build();
+
+    // Cursor to continue from: the later of the caller's cursor and the start of the window
+    private EventCursor startAfter(LocalDate from, String after) {
+        EventCursor start = EventCursor.startOf(from);
+        if (after == null || after.isBlank()) {
+            return start;
+        }
+        EventCursor cursor = EventCursor.parse(after);
+        return cursor.isBefore(start) ? start : cursor;
     }
 
-    public List<EventResponseDTO> getUpcomingBatchEvents() {
-        LocalDate currentDate = LocalDate.now();
-        List<BatchEvent> batchEvents = batchEventRepository.findByDateGreaterThanEqual(currentDate);
-        return batchEvents.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    /**
+     * Adds the occurrences of recurring series to stored events read from {@code start}. A full page
+     * only takes the occurrences up to its last stored date; the page after it continues from there.
+     * Occurrences sort after stored events of the same day; see {@link #limit} for capping the result.
+     */
+    private List<EventBasicResponseDTO> withOccurrences(List<EventBasicResponseDTO> stored, EventCursor start, LocalDate to,
+                                                        Pageable page,
+                                                        BiFunction<LocalDate, LocalDate, List<EventBasicResponseDTO>> occurrences) {
+        // A cursor inside a day means that day's occurrences went out with the previous page
+        LocalDate from = start.getId() == 0 ? start.getDate() : start.getDate().plusDays(1);
+        LocalDate until = page.isPaged() && stored.size() >= page.getPageSize()
+                ? stored.get(stored.size() - 1).getDate()
+                : to;
+        if (until.isBefore(from)) {
+            return stored;
+        }
+        List<EventBasicResponseDTO> expanded = occurrences.apply(from, until);
+        if (expanded.isEmpty()) {
+            return stored;
+        }
+        List<EventBasicResponseDTO> merged = new ArrayList<>(stored);
+        merged.addAll(expanded);
+        merged.sort(Comparator.comparing(EventBasicResponseDTO::getDate)); // stable: stored rows stay first
+        return merged;
+    }
+
+    /**
+     * Cuts stored events merged with occurrences down to a page. The cut falls between two days, and
+     * the cursor then points past the last day sent, so no occurrence is sent twice or skipped. A day
+     * holding more than a page goes out whole.
+     */
+    private EventPageDTO limit(List<EventBasicResponseDTO> events, List<EventBasicResponseDTO> stored, int pageSize) {
+        EventBasicResponseDTO lastStored = stored.isEmpty() ? null : stored.get(stored.size() - 1);
+        EventCursor storedCursor = stored.size() >= pageSize
+                ? new EventCursor(lastStored.getDate(), lastStored.getId())
+                : null;
+        if (events.size() <= pageSize) {
+            return new EventPageDTO(events, storedCursor);
+        }
+
+        LocalDate overflowDay = events.get(pageSize - 1).getDate();
+        int end = 0;
+        while (events.get(end).getDate().isBefore(overflowDay)) {
+            end++;
+        }
+        if (end > 0) {
+            return new EventPageDTO(new ArrayList<>(events.subList(0, end)),
+                    EventCursor.endOf(events.get(end - 1).getDate()));
+        }
+        // The first day alone fills the page. When it also ends the stored page, its stored rows may
+        // continue on the next page, which skips the day's occurrences sent here.
+        if (storedCursor != null && storedCursor.getDate().equals(overflowDay)) {
+            return new EventPageDTO(events, storedCursor);
+        }
+        while (end < events.size() && events.get(end).getDate().equals(overflowDay)) {
+            end++;
+        }
+        return new EventPageDTO(new ArrayList<>(events.subList(0, end)), EventCursor.endOf(overflowDay));
+    }
+
+    private Pageable page(Integer size) {
+        return size == null ? Pageable.unpaged() : PageRequest.of(0, boundedPageSize(size));
+    }
+
+    // Page size actually used for a request: the default when none is given, never above the cap
+    public static int boundedPageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // One bounded keyset page of the upcoming events addressed to whole batches
+    public List<EventResponseDTO> getUpcomingBatchEvents(String after, Integer size) {
+        EventCursor start = startAfter(LocalDate.now(), after);
+        return eventRepository.findBatchEventDetails(
+                start.getDate(), start.getId(), NO_END_DATE, PageRequest.of(0, boundedPageSize(size)));
     }
 
 
@@ -262,78 +641,40 @@ public class EventService {
 
         LocalDate currentDate = LocalDate.now();
 
-        // Get student's enrollments
-        List<Enrollment> enrollments = enrollmentRepository.findByStudent_Username(username);
-        if (enrollments.isEmpty()) {
-            throw new NoEventFoundException("Student not enrolled in any courses");
-        }
-
-        // Get student's batch (assuming single batch per student)
-        String batch = enrollments.get(0).getStudent().getBatch();
-
-        // Get course IDs from enrollments
-        List<Long> courseIds = enrollments.stream()
-                .map(e -> e.getCourse().getCourseId())
-                .collect(Collectors.toList());
-
-        // Get upcoming course events using existing repository method
-        List<CourseEvent> courseEvents = courseEventRepository
-                .findByCourse_CourseIdInAndBatchAndDateGreaterThanEqual(
-                        courseIds,
-                        batch,
-                        currentDate);
+        String studentBatch = studentRepository.findBatchByUsername(username).orElse(null);
+        EventQueryCache.Key key = new EventQueryCache.Key(EventQueryCache.Kind.STUDENT_UPCOMING,
+                username, studentBatch, currentDate, NO_END_DATE, null);
+        return eventQueryCache.get(key, () -> loadUpcomingCourseEventsForStudent(username, studentBatch, currentDate));
+    }
 
-        // Get upcoming batch events using existing repository method
-        List<BatchEvent> batchEvents = batchEventRepository
-                .findByBatchAndDateGreaterThanEqual(
-                        batch,
-                        currentDate);
+    private List<EventBasicResponseDTO> loadUpcomingCourseEventsForStudent(String username, String batch, LocalDate currentDate) {
+        if (batch == null) {
+            throw new NoEventFoundException("Student not found with username: " + username);
+        }
 
-        // Combine and map results
-        List<EventBasicResponseDTO> results = new ArrayList<>();
-        courseEvents.forEach(e -> results.add(mapToBasicResponse(e)));
-        batchEvents.forEach(e -> results.add(mapToBasicResponse(e)));
+        // The student's precomputed feed, plus occurrences of the series they see
+        EventCursor start = EventCursor.startOf(currentDate);
+        List<EventBasicResponseDTO> results = withOccurrences(studentEventFeedService.getFeed(username, currentDate),
+                start, NO_END_DATE, Pageable.unpaged(),
+                (from, to) -> eventSeriesService.getStudentOccurrences(username, batch, from, to));
 
         // Throw exception if no events found
         if (results.isEmpty()) {
             throw new NoEventFoundException("No upcoming events found for student");
         }
 
-        // Sort by date
-        results.sort(Comparator.comparing(EventBasicResponseDTO::getDate));
-
         return results;
     }
 
     public EventResponseDTO getUpcomingEventDetailsForStudent(Long eventId, String username) {
         LocalDate currentDate = LocalDate.now();
 
-        // First verify the student has access to this event
-        List<Enrollment> enrollments = enrollmentRepository.findByStudent_Username(username);
-        if (enrollments.isEmpty()) {
-            throw new RuntimeException("No enrollments found for student with username: " + username);
+        // One indexed visibility check, then one projected row
+        if (!studentEventVisibilityService.canSee(username, eventId, currentDate)) {
+            throw new RuntimeException("Upcoming event not found with id: " + eventId + " for student: " + username);
         }
-
-        String batch = enrollments.get(0).getStudent().getBatch();
-
-        // Try to find in course events
-        Optional<CourseEvent> courseEvent = courseEventRepository.findByIdAndDateGreaterThanEqual(eventId, currentDate);
-        if (courseEvent.isPresent()) {
-            // Verify the student is enrolled in this course
-            boolean isEnrolled = enrollments.stream()
-                    .anyMatch(e -> e.getCourse().getCourseId().equals(courseEvent.get().getCourse().getCourseId()));
-            if (isEnrolled) {
-                return mapToResponse(courseEvent.get());
-            }
-        }
-
-        // Try to find in batch events
-        Optional<BatchEvent> batchEvent = batchEventRepository.findByIdAndDateGreaterThanEqual(eventId, currentDate);
-        if (batchEvent.isPresent() && batchEvent.get().getBatch().equals(batch)) {
-            return mapToResponse(batchEvent.get());
-        }
-
-        throw new RuntimeException("Upcoming event not found with id: " + eventId + " for student: " + username);
+        return eventRepository.findEventDetails(eventId, currentDate)
+                .orElseThrow(() -> new RuntimeException("Upcoming event not found with id: " + eventId + " for student: " + username));
     }
 
 
@@ -0,0 +1,94 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.LmsProject.AdminInterface.DTO.EventResponseDTO;
+import com.LmsProject.AdminInterface.Model.EventSeries;
+import com.LmsProject.AdminInterface.Repository.EventRepository;
+import com.LmsProject.AdminInterface.Repository.EventSeriesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * iCalendar feeds of a batch's or a student's events, written row by row from a database cursor
+ * so memory use does not grow with the size of the feed.
+ */
+@Service
+@RequiredArgsConstructor
+public class IcsFeedService {
+
+    // How far back a feed reaches; calendar apps keep their own copy of older events
+    private static final int HISTORY_DAYS = 180;
+    private static final LocalDate NO_END_DATE = LocalDate.of(9999, 12, 31);
+
+    private final EventRepository eventRepository;
+    private final EventSeriesRepository eventSeriesRepository;
+
+    @Transactional(readOnly = true)
+    public void writeBatchFeed(String batch, OutputStream out) throws IOException {
+        LocalDate from = LocalDate.now().minusDays(HISTORY_DAYS);
+        IcsWriter ics = writer(out);
+        ics.begin("Events - " + batch);
+        try (Stream<EventResponseDTO> events = eventRepository.streamBatchCalendar(batch, from)) {
+            writeEvents(ics, events);
+        }
+        writeSeries(ics, eventSeriesRepository.findBatchSeries(batch, from));
+        ics.end();
+    }
+
+    @Transactional(readOnly = true)
+    public void writeStudentFeed(String username, String batch, OutputStream out) throws IOException {
+        LocalDate from = LocalDate.now().minusDays(HISTORY_DAYS);
+        IcsWriter ics = writer(out);
+        ics.begin("Events - " + username);
+        try (Stream<EventResponseDTO> events = eventRepository.streamStudentCalendar(username, batch, from)) {
+            writeEvents(ics, events);
+        }
+        writeSeries(ics, eventSeriesRepository.findStudentSeries(username, batch, from, NO_END_DATE));
+        ics.end();
+    }
+
+    private IcsWriter writer(OutputStream out) {
+        return new IcsWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), Instant.now());
+    }
+
+    private void writeEvents(IcsWriter ics, Stream<EventResponseDTO> events) throws IOException {
+        try {
+            events.forEach(event -> {
+                try {
+                    ics.event(event);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeSeries(IcsWriter ics, List<EventSeries> seriesList) throws IOException {
+        for (EventSeries series : seriesList) {
+            Set<DayOfWeek> days = RecurrenceRules.parseDays(series.getDaysOfWeek());
+            List<LocalDate> dates = RecurrenceRules.expand(series.getStartDate(), series.getEndDate(), days,
+                    series.getIntervalWeeks(), series.getStartDate(), series.getEndDate());
+            if (dates.isEmpty()) {
+                continue;
+            }
+            ics.series(series.getId(), series.getTitle(), series.getDescription(),
+                    series.getCourse() != null ? "COURSE_EVENT" : "BATCH_EVENT",
+                    dates.get(0), series.getEndDate(), days, series.getIntervalWeeks());
+        }
+    }
+}
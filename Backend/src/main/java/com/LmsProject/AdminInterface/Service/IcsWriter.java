@@ -0,0 +1,110 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.LmsProject.AdminInterface.DTO.EventResponseDTO;
+
+/**
+ * Writes an iCalendar (RFC 5545) document one component at a time, so a feed can be streamed
+ * straight from a database cursor. All events are all-day events.
+ */
+public class IcsWriter {
+
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final String UID_DOMAIN = "@lms-admin-interface";
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final Writer out;
+    private final String stamp;
+
+    public IcsWriter(Writer out, Instant stamp) {
+        this.out = out;
+        this.stamp = TIMESTAMP.format(stamp);
+    }
+
+    public void begin(String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//LMS Admin Interface//Events//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(calendarName));
+    }
+
+    public void event(EventResponseDTO event) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:event-" + event.getId() + UID_DOMAIN);
+        line("DTSTAMP:" + stamp);
+        line("DTSTART;VALUE=DATE:" + DATE.format(event.getDate()));
+        line("DTEND;VALUE=DATE:" + DATE.format(event.getDate().plusDays(1)));
+        line("SUMMARY:" + escape(event.getTitle()));
+        line("DESCRIPTION:" + escape(event.getCourseName() != null
+                ? event.getCourseName() + "\n" + event.getDescription()
+                : event.getDescription()));
+        line("CATEGORIES:" + event.getEventType());
+        line("END:VEVENT");
+    }
+
+    /**
+     * A recurring series as one VEVENT with a weekly RRULE, leaving the expansion to the client.
+     *
+     * @param firstDate the first occurrence, which RFC 5545 expects as DTSTART
+     */
+    public void series(Long seriesId, String title, String description, String eventType, LocalDate firstDate,
+                       LocalDate endDate, Set<DayOfWeek> daysOfWeek, int intervalWeeks) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:series-" + seriesId + UID_DOMAIN);
+        line("DTSTAMP:" + stamp);
+        line("DTSTART;VALUE=DATE:" + DATE.format(firstDate));
+        line("DTEND;VALUE=DATE:" + DATE.format(firstDate.plusDays(1)));
+        line("RRULE:FREQ=WEEKLY;INTERVAL=" + intervalWeeks + ";WKST=MO;UNTIL=" + DATE.format(endDate)
+                + ";BYDAY=" + daysOfWeek.stream().sorted().map(day -> day.name().substring(0, 2)).collect(Collectors.joining(",")));
+        line("SUMMARY:" + escape(title));
+        line("DESCRIPTION:" + escape(description));
+        line("CATEGORIES:" + eventType);
+        line("END:VEVENT");
+    }
+
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    // Writes a content line, folded so no physical line exceeds 75 octets
+    private void line(String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4; // UTF-8 octets
+            if (octets + width > MAX_LINE_OCTETS) {
+                out.write(CRLF + " ");
+                octets = 1;
+            }
+            out.write(Character.toChars(codePoint));
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.write(CRLF);
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+}
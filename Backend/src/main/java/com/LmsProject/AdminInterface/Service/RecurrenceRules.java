@@ -0,0 +1,93 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.LmsProject.AdminInterface.DTO.RecurrenceRuleDTO;
+
+/**
+ * Validation and expansion of weekly recurrence rules.
+ */
+public final class RecurrenceRules {
+
+    // Longest span a single rule may cover
+    public static final int MAX_SPAN_DAYS = 366;
+
+    private RecurrenceRules() {
+    }
+
+    /**
+     * Adds a message to {@code errors} for every problem with the rule.
+     *
+     * @param label prefix identifying the rule in the messages
+     */
+    public static void validate(RecurrenceRuleDTO rule, String label, List<String> errors) {
+        if (rule == null) {
+            errors.add(label + ": recurrence is required");
+            return;
+        }
+        if (rule.getStartDate() == null || rule.getEndDate() == null) {
+            errors.add(label + ": recurrence start and end dates are required");
+        } else if (rule.getEndDate().isBefore(rule.getStartDate())) {
+            errors.add(label + ": recurrence ends before it starts");
+        } else if (ChronoUnit.DAYS.between(rule.getStartDate(), rule.getEndDate()) >= MAX_SPAN_DAYS) {
+            errors.add(label + ": recurrence must not span more than " + MAX_SPAN_DAYS + " days");
+        }
+        if (rule.getDaysOfWeek() == null || rule.getDaysOfWeek().isEmpty()) {
+            errors.add(label + ": at least one day of the week is required");
+        }
+        if (rule.getIntervalWeeks() != null && rule.getIntervalWeeks() < 1) {
+            errors.add(label + ": interval must be at least one week");
+        }
+    }
+
+    public static List<LocalDate> expand(RecurrenceRuleDTO rule, LocalDate from, LocalDate to) {
+        return expand(rule.getStartDate(), rule.getEndDate(), rule.getDaysOfWeek(),
+                rule.getIntervalWeeks() == null ? 1 : rule.getIntervalWeeks(), from, to);
+    }
+
+    /**
+     * Dates of a weekly rule that fall within [from, to], in ascending order.
+     */
+    public static List<LocalDate> expand(LocalDate startDate, LocalDate endDate, Set<DayOfWeek> daysOfWeek,
+                                         int intervalWeeks, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate first = startDate.isAfter(from) ? startDate : from;
+        LocalDate last = endDate.isBefore(to) ? endDate : to;
+        LocalDate firstWeek = startDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            long week = ChronoUnit.WEEKS.between(firstWeek, date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+            if (daysOfWeek.contains(date.getDayOfWeek()) && week % intervalWeeks == 0) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    // Days as stored on a series row: comma separated DayOfWeek names in week order
+    public static String formatDays(Set<DayOfWeek> daysOfWeek) {
+        return daysOfWeek.stream()
+                .sorted()
+                .map(DayOfWeek::name)
+                .collect(Collectors.joining(","));
+    }
+
+    public static Set<DayOfWeek> parseDays(String daysOfWeek) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        Arrays.stream(daysOfWeek.split(","))
+                .map(String::trim)
+                .filter(day -> !day.isEmpty())
+                .map(DayOfWeek::valueOf)
+                .forEach(days::add);
+        return days;
+    }
+}
@@ -0,0 +1,126 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.LmsProject.AdminInterface.DTO.SemesterRolloverRequestDTO;
+import com.LmsProject.AdminInterface.DTO.SemesterRolloverResultDTO;
+import com.LmsProject.AdminInterface.Exception.SemesterNotFoundException;
+import com.LmsProject.AdminInterface.Model.Course;
+import com.LmsProject.AdminInterface.Repository.CourseRepository;
+import com.LmsProject.AdminInterface.Repository.EnrollmentRepository;
+import com.LmsProject.AdminInterface.Repository.SemesterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Term-end rollover: completes a semester's enrollments and courses and seeds the next semester's
+ * enrollments for the same students.
+ *
+ * <p>Each step is one set-based statement for all the batches at once, and the whole rollover runs
+ * in a single transaction, so it either happens completely or not at all. A dry run executes the
+ * same statements, reports their counts and rolls back.
+ */
+@Service
+@RequiredArgsConstructor
+public class SemesterRolloverService {
+
+    private final SemesterRepository semesterRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StudentEventFeedService studentEventFeedService;
+    private final EventQueryCache eventQueryCache;
+    private final EventFeedVersions eventFeedVersions;
+    private final CourseViewCache courseViewCache;
+    private final DashboardStatsService dashboardStatsService;
+
+    public SemesterRolloverResultDTO rollover(SemesterRolloverRequestDTO request) {
+        String semesterId = request.getSemesterId();
+        String nextSemesterId = request.getNextSemesterId() == null || request.getNextSemesterId().isBlank()
+                ? null
+                : request.getNextSemesterId();
+        if (semesterId == null || semesterId.isBlank()) {
+            throw new IllegalArgumentException("semesterId must be provided");
+        }
+        if (semesterId.equals(nextSemesterId)) {
+            throw new IllegalArgumentException("nextSemesterId must differ from semesterId");
+        }
+        if (!semesterRepository.existsById(semesterId)) {
+            throw new SemesterNotFoundException("Semester not found with id: " + semesterId);
+        }
+        if (nextSemesterId != null && !semesterRepository.existsById(nextSemesterId)) {
+            throw new SemesterNotFoundException("Semester not found with id: " + nextSemesterId);
+        }
+        List<String> requestedBatches = request.getBatches() == null
+                ? List.of()
+                : request.getBatches().stream().filter(batch -> batch != null && !batch.isBlank()).distinct().toList();
+        boolean allBatches = requestedBatches.isEmpty();
+
+        return transactionTemplate.execute(status -> {
+            // Sorted by batch for a stable report; students without a batch are reported under ""
+            Map<String, SemesterRolloverResultDTO.BatchRollover> byBatch = new TreeMap<>();
+            requestedBatches.forEach(batch -> byBatch.put(batch, new SemesterRolloverResultDTO.BatchRollover(batch, 0, 0)));
+            SemesterRolloverResultDTO result = new SemesterRolloverResultDTO();
+
+            // Seeding writes seats and counters, completing only counters: seats first is the lock order of
+            // every enrollment write
+            if (nextSemesterId != null) {
+                List<EnrollmentRepository.BatchCount> created = allBatches
+                        ? enrollmentRepository.seedWholeNextSemester(semesterId, nextSemesterId)
+                        : enrollmentRepository.seedNextSemester(semesterId, nextSemesterId, requestedBatches);
+                created.forEach(count -> {
+                    batchRollover(byBatch, count.getBatch()).setEnrollmentsCreated((int) count.getCount());
+                    result.setEnrollmentsCreated(result.getEnrollmentsCreated() + (int) count.getCount());
+                });
+            }
+            List<EnrollmentRepository.BatchCount> completed = allBatches
+                    ? enrollmentRepository.completeWholeSemester(semesterId)
+                    : enrollmentRepository.completeSemester(semesterId, requestedBatches);
+            completed.forEach(count -> {
+                batchRollover(byBatch, count.getBatch()).setEnrollmentsCompleted((int) count.getCount());
+                result.setEnrollmentsCompleted(result.getEnrollmentsCompleted() + (int) count.getCount());
+            });
+            // Courses are shared by the batches, so they only close when the whole semester rolls over
+            List<LocalDate> closedEndDates = allBatches
+                    ? courseRepository.findEndDatesBySemesterExcept(semesterId, Course.CourseStatus.COMPLETED)
+                    : List.of();
+            if (allBatches) {
+                result.setCoursesCompleted(courseRepository.markSemesterCompleted(semesterId));
+            }
+            // Students without a batch see no events, so only real batches have feeds and cache entries to update
+            List<String> batches = byBatch.keySet().stream().filter(batch -> !batch.isEmpty()).toList();
+            if (result.getEnrollmentsCreated() > 0) {
+                studentEventFeedService.batchesEnrolled(batches);
+            }
+            result.getBatches().addAll(byBatch.values());
+
+            if (request.isDryRun()) {
+                status.setRollbackOnly();
+                result.setDryRun(true);
+            } else {
+                // These run after commit
+                batches.forEach(batch -> {
+                    eventQueryCache.evictStudentsOfBatch(batch);
+                    eventFeedVersions.batchChanged(batch);
+                });
+                courseViewCache.evictSemester(semesterId);
+                if (!closedEndDates.isEmpty()) {
+                    AfterCommit.run(() -> dashboardStatsService.coursesCompleted(closedEndDates));
+                }
+                if (nextSemesterId != null) {
+                    courseViewCache.evictSemester(nextSemesterId);
+                }
+            }
+            return result;
+        });
+    }
+
+    private static SemesterRolloverResultDTO.BatchRollover batchRollover(
+            Map<String, SemesterRolloverResultDTO.BatchRollover> byBatch, String batch) {
+        return byBatch.computeIfAbsent(batch, key -> new SemesterRolloverResultDTO.BatchRollover(key, 0, 0));
+    }
+}
@@ -19,10 +19,15 @@ public class SemesterService {
 
     private final SemesterRepository semesterRepository;
     private final CourseRepository courseRepository;
+    private final CourseViewCache courseViewCache;
+    private final BatchCatalogService batchCatalogService;
 
-    public SemesterService(SemesterRepository semesterRepository, CourseRepository courseRepository) {
+    public SemesterService(SemesterRepository semesterRepository, CourseRepository courseRepository,
+                           CourseViewCache courseViewCache, BatchCatalogService batchCatalogService) {
         this.semesterRepository = semesterRepository;
         this.courseRepository = courseRepository;
+        this.courseViewCache = courseViewCache;
+        this.batchCatalogService = batchCatalogService;
     }
 
     //Fetch all semester data
@@ -54,6 +59,8 @@ public class SemesterService {
                 semester.addCourse(course);
             }
             semesterRepository.save(semester);
+            courseViewCache.evictSemester(semester.getSemesterId());
+            batchCatalogService.invalidate();
         }
 
         return semester;
@@ -80,7 +87,10 @@ public class SemesterService {
             }
         }
 
-        return semesterRepository.save(semester);
+        Semester saved = semesterRepository.save(semester);
+        courseViewCache.evictSemester(semesterId);
+        batchCatalogService.invalidate();
+        return saved;
     }
 
     private SimpleCourseViewDTO convertToSimpleCourseViewDTO(Course course) {
@@ -0,0 +1,114 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import com.LmsProject.AdminInterface.DTO.EventBasicResponseDTO;
+import com.LmsProject.AdminInterface.Repository.StudentEventFeedRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the per-student event feed in step with event and enrollment writes (fan-out on write).
+ *
+ * <p>The write methods join the caller's transaction, so the feed commits or rolls back together
+ * with the change that caused it.
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentEventFeedService {
+
+    private final StudentEventFeedRepository studentEventFeedRepository;
+
+    // The student's feed from a date onwards, ordered by date
+    public List<EventBasicResponseDTO> getFeed(String username, LocalDate from) {
+        return studentEventFeedRepository.findFeed(username, from);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventsCreated(Collection<Long> eventIds) {
+        if (!eventIds.isEmpty()) {
+            studentEventFeedRepository.fanOutEvents(eventIds);
+        }
+    }
+
+    // Date, batch or course may have changed, so the event's audience is worked out again
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventsUpdated(Collection<Long> eventIds) {
+        if (!eventIds.isEmpty()) {
+            studentEventFeedRepository.deleteByEventIds(eventIds);
+            studentEventFeedRepository.fanOutEvents(eventIds);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventsDeleted(Collection<Long> eventIds) {
+        if (!eventIds.isEmpty()) {
+            studentEventFeedRepository.deleteByEventIds(eventIds);
+        }
+    }
+
+    // A new enrollment can bring in the course's events and, for a first enrollment, the batch's events
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void studentEnrolled(Long studentId) {
+        studentsEnrolled(List.of(studentId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void studentsEnrolled(Collection<Long> studentIds) {
+        if (!studentIds.isEmpty()) {
+            studentEventFeedRepository.fanInStudents(studentIds, LocalDate.now());
+        }
+    }
+
+    // For set-based enrollment of whole batches
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void batchesEnrolled(Collection<String> batches) {
+        if (!batches.isEmpty()) {
+            studentEventFeedRepository.fanInBatches(batches, LocalDate.now());
+        }
+    }
+
+    // A withdrawal can take away a course's events, or the batch's after the last enrollment, so the feed is rebuilt
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void studentWithdrawn(Long studentId) {
+        LocalDate today = LocalDate.now();
+        studentEventFeedRepository.deleteStudentEntries(List.of(studentId), today);
+        studentEventFeedRepository.fanInStudents(List.of(studentId), today);
+    }
+
+    // Fills an empty feed once, e.g. on the first start after the table was added
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (!studentEventFeedRepository.hasEntries()) {
+            studentEventFeedRepository.fanInAllStudents(LocalDate.now());
+        }
+    }
+
+    /**
+     * Repairs the feed from a full recount: drops entries students no longer see and adds missing
+     * ones. Students and enrollments are also written by the main LMS, e.g. a student moving to
+     * another batch, and those changes reach the feed only through this job.
+     */
+    @Scheduled(cron = "${events.feed.reconcile-cron:0 0 4 * * *}")
+    @Transactional
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        studentEventFeedRepository.deleteStaleEntries(today);
+        studentEventFeedRepository.fanInAllStudents(today);
+    }
+
+    // Past days are never read, so their rows are dropped nightly
+    @Scheduled(cron = "0 30 0 * * *")
+    @Transactional
+    public void prunePastEntries() {
+        studentEventFeedRepository.deletePastEntries(LocalDate.now());
+    }
+}
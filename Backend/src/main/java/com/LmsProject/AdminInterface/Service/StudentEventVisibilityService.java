@@ -0,0 +1,31 @@
+package com.LmsProject.AdminInterface.Service;
+
+import java.time.LocalDate;
+
+import com.LmsProject.AdminInterface.Repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Answers "can student X see event Y" with one EXISTS query, without loading the student's
+ * enrollments. Student-scoped endpoints should check access through here.
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentEventVisibilityService {
+
+    private final EventRepository eventRepository;
+
+    // Whether the student can see the event and it has not passed yet
+    public boolean canSeeUpcoming(String username, Long eventId) {
+        return canSee(username, eventId, LocalDate.now());
+    }
+
+    // Whether the student can see the event and it falls on or after the given date
+    public boolean canSee(String username, Long eventId, LocalDate from) {
+        if (username == null || username.isBlank() || eventId == null) {
+            return false;
+        }
+        return eventRepository.isVisibleToStudent(eventId, username, from);
+    }
+}
@@ -5,11 +5,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import com.LmsProject.AdminInterface.DTO.CourseDTO;
+import com.LmsProject.AdminInterface.DTO.CourseStatusCountDTO;
 import com.LmsProject.AdminInterface.DTO.LectureSimpleDTO;
 import com.LmsProject.AdminInterface.DTO.LecturerSimpleDTO;
 import com.LmsProject.AdminInterface.Model.Course;
 import com.LmsProject.AdminInterface.Repository.CourseRepository;
+import com.LmsProject.AdminInterface.Service.AfterCommit;
 import com.LmsProject.AdminInterface.Service.CourseService;
+import com.LmsProject.AdminInterface.Service.CourseViewCache;
+import com.LmsProject.AdminInterface.Service.DashboardStatsService;
+import com.LmsProject.AdminInterface.Service.EnrollmentService;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,6 +25,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository courseRepository;
+    private final DashboardStatsService dashboardStatsService;
+    private final CourseViewCache courseViewCache;
+    private final EnrollmentService enrollmentService;
 
     @Override
     public List<Course> getAllCourses() {
@@ -34,16 +42,42 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional
     public Course saveCourse(Course course) {
-        return courseRepository.save(course);
+        // Course ids are assigned by the caller, so a save may replace an existing course
+        List<CourseRepository.EndDateAndStatus> previous = course.getCourseId() == null
+                ? List.of()
+                : courseRepository.findEndDateAndStatusByCourseId(course.getCourseId());
+
+        Course saved = courseRepository.save(course);
+
+        // The counters only follow committed saves; drift left by other instances is reseeded nightly
+        LocalDate endDate = saved.getEndDate();
+        Course.CourseStatus status = saved.getStatus();
+        AfterCommit.run(() -> {
+            if (!previous.isEmpty()) {
+                dashboardStatsService.courseRemoved(previous.get(0).getEndDate(), previous.get(0).getStatus());
+            }
+            dashboardStatsService.courseAdded(endDate, status);
+        });
+        // Name, image or semester may have changed, and the semester is not known for the old values
+        courseViewCache.evictAll();
+        // A raised capacity frees seats for waitlisted students
+        enrollmentService.promoteWaitlist(saved.getCourseId());
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteCourse(Long id) {
-        if (!courseRepository.existsById(id)) {
+        List<CourseRepository.EndDateAndStatus> previous = courseRepository.findEndDateAndStatusByCourseId(id);
+        if (previous.isEmpty()) {
             throw new RuntimeException("Course not found with id: " + id);
         }
         courseRepository.deleteById(id);
+        AfterCommit.run(() ->
+                dashboardStatsService.courseRemoved(previous.get(0).getEndDate(), previous.get(0).getStatus()));
+        courseViewCache.evictAll();
     }
 
     @Override
@@ -66,17 +100,11 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Map<String, Long> getCourseStatusCounts() {
-        LocalDate today = LocalDate.now();
-
-        return courseRepository.findAll().stream().collect(Collectors.groupingBy(course -> {
-            if (course.getEndDate().isBefore(today)) {
-                return "COMPLETED";
-            } else {
-                return "ACTIVE";
-            }
-            }, Collectors.counting()));
+        CourseStatusCountDTO counts = dashboardStatsService.getCourseStatusCounts();
+        return Map.of(
+                "ACTIVE", counts.getActiveCount(),
+                "COMPLETED", counts.getCompletedCount());
     }
 
     private CourseDTO convertToDTO(Course course) {
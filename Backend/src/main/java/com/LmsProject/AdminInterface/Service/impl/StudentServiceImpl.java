@@ -10,6 +10,7 @@ import com.LmsProject.AdminInterface.DTO.StudentDTO;
 import com.LmsProject.AdminInterface.Model.Student;
 import com.LmsProject.AdminInterface.Repository.StudentRepository;
 import com.LmsProject.AdminInterface.Repository.StudentResponseRepository;
+import com.LmsProject.AdminInterface.Service.BatchCatalogService;
 import com.LmsProject.AdminInterface.Service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -37,6 +38,9 @@ public  class StudentServiceImpl implements StudentService {
     @Autowired
     private StudentResponseRepository studentResponseRepository;
 
+    @Autowired
+    private BatchCatalogService batchCatalogService;
+
     @Override
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
@@ -100,7 +104,9 @@ public  class StudentServiceImpl implements StudentService {
         existingStudent.setDateOfBirth(studentDTO.getDateOfBirth());
         existingStudent.setAddress(studentDTO.getAddress());
 
-        return studentRepository.save(existingStudent);
+        Student saved = studentRepository.save(existingStudent);
+        batchCatalogService.invalidate();
+        return saved;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+-- Runs after Hibernate has updated the schema (spring.jpa.defer-datasource-initialization).
+-- Only objects Hibernate cannot declare through annotations belong here; keep every statement idempotent.
+
+-- Full-text search over event titles and descriptions; EventRepository.searchEvents must use the same expression
+CREATE INDEX IF NOT EXISTS idx_events_search
+    ON events USING GIN (to_tsvector('english', title || ' ' || description));
@@ -0,0 +1,252 @@
+package com.LmsProject.AdminInterface.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.LmsProject.AdminInterface.DTO.CreateEnrollmentDTO;
+import com.LmsProject.AdminInterface.Exception.CourseFullException;
+import com.LmsProject.AdminInterface.Model.Course;
+import com.LmsProject.AdminInterface.Model.Enrollment;
+import com.LmsProject.AdminInterface.Model.Person;
+import com.LmsProject.AdminInterface.Model.Semester;
+import com.LmsProject.AdminInterface.Model.Student;
+import com.LmsProject.AdminInterface.Repository.CourseRepository;
+import com.LmsProject.AdminInterface.Repository.SemesterRepository;
+import com.LmsProject.AdminInterface.Repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seat allocation, waitlisting and promotion against the database, with concurrent callers. Every
+ * test works on its own semester, course and students and removes them afterwards.
+ */
+@SpringBootTest
+class EnrollmentCapacityTests {
+
+	private static final String BATCH = "capacity-test";
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private SemesterRepository semesterRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Semester semester;
+	private final List<Course> courses = new ArrayList<>();
+	private final List<Student> students = new ArrayList<>();
+
+	@BeforeEach
+	void createSemester() {
+		String id = "capacity-test-" + System.nanoTime();
+		semester = semesterRepository.save(Semester.builder()
+				.semesterId(id)
+				.semesterName(id)
+				.academicYear("2099")
+				.build());
+	}
+
+	@AfterEach
+	void cleanUp() {
+		List<Long> studentIds = students.stream().map(Student::getPersonId).toList();
+		for (Course course : courses) {
+			jdbcTemplate.update("DELETE FROM enrollment_waitlist WHERE course_id = ?", course.getCourseId());
+			jdbcTemplate.update("DELETE FROM enrollments WHERE course_id = ?", course.getCourseId());
+			jdbcTemplate.update("DELETE FROM enrollment_counts WHERE course_id = ?", course.getCourseId());
+			jdbcTemplate.update("DELETE FROM course_seats WHERE course_id = ?", course.getCourseId());
+			courseRepository.deleteById(course.getCourseId());
+		}
+		studentIds.forEach(id -> jdbcTemplate.update("DELETE FROM student_event_feed WHERE student_id = ?", id));
+		studentRepository.deleteAllById(studentIds);
+		semesterRepository.deleteById(semester.getSemesterId());
+	}
+
+	@Test
+	void concurrentEnrollmentsNeverExceedCapacity() throws Exception {
+		Course course = course(3);
+		List<Student> applicants = students(10);
+
+		List<Outcome> outcomes = concurrently(applicants.stream()
+				.map(student -> (Callable<Outcome>) () -> enroll(student, course))
+				.toList());
+
+		assertThat(outcomes).filteredOn(Outcome::enrolled).hasSize(3);
+		assertThat(outcomes).filteredOn(outcome -> !outcome.enrolled()).hasSize(7);
+		assertThat(takenSeats(course)).isEqualTo(3);
+		assertThat(enrollments(course)).hasSize(3);
+		assertThat(waitlist(course)).hasSize(7);
+	}
+
+	@Test
+	void fullCourseKeepsOneWaitlistEntryPerStudent() {
+		Course course = course(1);
+		List<Student> applicants = students(2);
+		enroll(applicants.get(0), course);
+
+		// The entry is committed although the exception rolls out of createEnrollment
+		assertThatThrownBy(() -> enrollmentService.createEnrollment(request(applicants.get(1), course)))
+				.isInstanceOfSatisfying(CourseFullException.class,
+						e -> assertThat(e.getWaitlistPosition()).isEqualTo(1));
+		assertThatThrownBy(() -> enrollmentService.createEnrollment(request(applicants.get(1), course)))
+				.isInstanceOfSatisfying(CourseFullException.class,
+						e -> assertThat(e.getWaitlistPosition()).isEqualTo(1));
+
+		assertThat(waitlist(course)).containsExactly(applicants.get(1).getPersonId());
+		assertThat(takenSeats(course)).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentWithdrawalsPromoteTheOldestWaitlistedStudents() throws Exception {
+		Course course = course(2);
+		List<Student> applicants = students(5);
+		List<Long> enrollmentIds = new ArrayList<>();
+		for (Student student : applicants) {
+			Outcome outcome = enroll(student, course);
+			if (outcome.enrolled()) {
+				enrollmentIds.add(outcome.enrollmentId());
+			}
+		}
+		assertThat(enrollmentIds).hasSize(2);
+
+		concurrently(enrollmentIds.stream()
+				.map(id -> (Callable<Outcome>) () -> {
+					enrollmentService.withdrawEnrollment(id);
+					return new Outcome(true, id);
+				})
+				.toList());
+
+		assertThat(enrollments(course)).containsExactlyInAnyOrder(
+				applicants.get(2).getPersonId(), applicants.get(3).getPersonId());
+		assertThat(waitlist(course)).containsExactly(applicants.get(4).getPersonId());
+		assertThat(takenSeats(course)).isEqualTo(2);
+	}
+
+	@Test
+	void raisedCapacityPromotesWaitlistedStudents() {
+		Course course = course(1);
+		List<Student> applicants = students(3);
+		applicants.forEach(student -> enroll(student, course));
+
+		jdbcTemplate.update("UPDATE course SET capacity = 3 WHERE course_id = ?", course.getCourseId());
+		assertThat(enrollmentService.promoteWaitlist(course.getCourseId())).isEqualTo(2);
+
+		assertThat(enrollments(course)).hasSize(3);
+		assertThat(waitlist(course)).isEmpty();
+		assertThat(takenSeats(course)).isEqualTo(3);
+	}
+
+	// An enrollment, or a waitlist place when the course is full
+	private record Outcome(boolean enrolled, Long enrollmentId) {
+	}
+
+	private Outcome enroll(Student student, Course course) {
+		try {
+			Enrollment enrollment = enrollmentService.createEnrollment(request(student, course));
+			return new Outcome(true, enrollment.getEnrollmentId());
+		} catch (CourseFullException e) {
+			return new Outcome(false, null);
+		}
+	}
+
+	// Starts every call at the same moment and waits for all of them
+	private static List<Outcome> concurrently(List<Callable<Outcome>> calls) throws InterruptedException, ExecutionException {
+		ExecutorService executor = Executors.newFixedThreadPool(calls.size());
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Outcome>> futures = new ArrayList<>();
+			for (Callable<Outcome> call : calls) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return call.call();
+				}));
+			}
+			start.countDown();
+			List<Outcome> outcomes = new ArrayList<>();
+			for (Future<Outcome> future : futures) {
+				outcomes.add(future.get());
+			}
+			return outcomes;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private CreateEnrollmentDTO request(Student student, Course course) {
+		CreateEnrollmentDTO dto = new CreateEnrollmentDTO();
+		dto.setStudentId(student.getPersonId());
+		dto.setSemesterId(semester.getSemesterId());
+		dto.setCourseId(course.getCourseId());
+		dto.setStatus(Enrollment.EnrollmentStatus.ACTIVE);
+		return dto;
+	}
+
+	private Course course(int capacity) {
+		Course course = new Course();
+		// Course ids are assigned by the caller
+		course.setCourseId(ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE));
+		course.setName("Capacity test " + course.getCourseId());
+		course.setStartDate(LocalDate.now());
+		course.setSemester(semester);
+		course.setStatus(Course.CourseStatus.ACTIVE);
+		course.setCapacity(capacity);
+		Course saved = courseRepository.save(course);
+		courses.add(saved);
+		return saved;
+	}
+
+	private List<Student> students(int count) {
+		List<Student> created = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Student student = new Student();
+			String username = "capacity-test-" + System.nanoTime() + "-" + i;
+			student.setName(username);
+			student.setUsername(username);
+			student.setPassword("not-used");
+			student.setUserRole(Person.UserRole.STUDENT);
+			student.setBatch(BATCH);
+			created.add(studentRepository.save(student));
+		}
+		students.addAll(created);
+		return created;
+	}
+
+	private int takenSeats(Course course) {
+		return jdbcTemplate.queryForObject(
+				"SELECT COALESCE((SELECT taken FROM course_seats WHERE course_id = ?), 0)", Integer.class, course.getCourseId());
+	}
+
+	// Enrolled student ids
+	private List<Long> enrollments(Course course) {
+		return jdbcTemplate.queryForList(
+				"SELECT student_id FROM enrollments WHERE course_id = ?", Long.class, course.getCourseId());
+	}
+
+	// Waitlisted student ids, oldest first
+	private List<Long> waitlist(Course course) {
+		return jdbcTemplate.queryForList(
+				"SELECT student_id FROM enrollment_waitlist WHERE course_id = ? ORDER BY waitlist_id", Long.class, course.getCourseId());
+	}
+}
@@ -6,16 +6,18 @@ import { Event } from "./types/event";
 
 interface CalendarComponentProps {
   selectedDate: Date;
-  dailyEvents: Event[];
+  monthEvents: Event[];
   upcomingEvents: Event[];
   onDateChange: (date: Date) => void;
+  onMonthChange: (month: Date) => void;
 }
 
 const CalendarComponent: React.FC<CalendarComponentProps> = ({
   selectedDate,
-  dailyEvents,
+  monthEvents,
   upcomingEvents,
   onDateChange,
+  onMonthChange,
 }) => {
   const isSameDay = (a: Date, b: Date) => a.toDateString() === b.toDateString();
 
@@ -24,6 +26,9 @@ const CalendarComponent: React.FC<CalendarComponentProps> = ({
       <h2 className="text-lg font-semibold mb-4">Calendar</h2>
       <Calendar
         onChange={(value) => onDateChange(value as Date)}
+        onActiveStartDateChange={({ activeStartDate, view }) => {
+          if (view === "month" && activeStartDate) onMonthChange(activeStartDate);
+        }}
         value={selectedDate}
         className="daisy-calendar"
         tileClassName={({ date }) => {
@@ -33,7 +38,7 @@ const CalendarComponent: React.FC<CalendarComponentProps> = ({
             classes += " bg-primary text-white font-semibold";
           } else if (isSameDay(date, new Date())) {
             classes += " bg-accent text-white";
-          } else if (dailyEvents.some((e) => isSameDay(e.date, date))) {
+          } else if (monthEvents.some((e) => isSameDay(e.date, date))) {
             classes += " border border-primary text-primary";
           } else if (upcomingEvents.some((e) => isSameDay(e.date, date))) {
             classes += " border border-blue-300 text-blue-500";
@@ -41,7 +46,7 @@ const CalendarComponent: React.FC<CalendarComponentProps> = ({
           return classes;
         }}
         tileContent={({ date }) => {
-          const hasDailyEvent = dailyEvents.some((e) => isSameDay(e.date, date));
+          const hasDailyEvent = monthEvents.some((e) => isSameDay(e.date, date));
           const hasUpcomingEvent = upcomingEvents.some((e) => isSameDay(e.date, date));
           
           if (hasDailyEvent && hasUpcomingEvent) {
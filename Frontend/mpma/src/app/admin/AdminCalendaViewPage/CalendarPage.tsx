@@ -13,11 +13,15 @@ import EventModal from "./EventModal";
 import FiltersSection from "./FiltersSection";
 import UpcomingEventsList from "./UpcomingEventsList";
 import EventDetailView from "./EventDetailView";
-import { Event, SemesterBatchInfo } from "./types/event";
+import { CalendarDay, Event, SemesterBatchInfo } from "./types/event";
 
 const CalendarPage = () => {
   const [selectedDate, setSelectedDate] = useState<Date>(new Date());
-  const [dailyEvents, setDailyEvents] = useState<Event[]>([]);
+  // Days of the month shown in the calendar, from one /calendar request per month
+  const [calendarDays, setCalendarDays] = useState<CalendarDay[]>([]);
+  const [visibleMonth, setVisibleMonth] = useState<Date>(
+    new Date(new Date().getFullYear(), new Date().getMonth(), 1)
+  );
   const [upcomingEvents, setUpcomingEvents] = useState<Event[]>([]);
   const [selectedUpcomingEvent, setSelectedUpcomingEvent] = useState<Event | null>(null);
   const [selectedDailyEvent, setSelectedDailyEvent] = useState<Event | null>(null);
@@ -71,6 +75,7 @@ const CalendarPage = () => {
       );
       const events = response.data.map((event: Event) => ({
         id: event.id,
+        seriesId: event.seriesId,
         title: event.title,
         date: new Date(event.date),
         description: event.description,
@@ -93,16 +98,19 @@ const CalendarPage = () => {
     }
   };
 
-  const fetchEventDetails = async (eventId: number, isUpcoming: boolean = false) => {
+  const fetchEventDetails = async (event: Event, isUpcoming: boolean = false) => {
     setIsLoading(true);
     setError("");
     try {
       const response = await axios.get(
-        `http://localhost:8080/api/events/details/${eventId}`
+        event.id != null
+          ? `http://localhost:8080/api/events/details/${event.id}`
+          : `http://localhost:8080/api/events/series/${event.seriesId}/occurrences/${event.date.toLocaleDateString("en-CA")}`
       );
       const eventDetails = response.data;
       const detailedEvent = {
         id: eventDetails.id,
+        seriesId: event.seriesId,
         title: eventDetails.title,
         date: new Date(eventDetails.date),
         description: eventDetails.description,
@@ -130,45 +138,46 @@ const CalendarPage = () => {
     }
   };
 
-  const fetchEventsForDate = async () => {
-    if (!selectedDate) return;
+  const fetchCalendarMonth = async (month: Date = visibleMonth) => {
     const { academicYear, semesterId, batch } = filters;
     if (!academicYear || !semesterId || !batch) return;
-    
+
     setIsLoading(true);
     setError("");
     try {
-      const dateStr = selectedDate.toLocaleDateString("en-CA");
+      const from = new Date(month.getFullYear(), month.getMonth(), 1);
+      const to = new Date(month.getFullYear(), month.getMonth() + 1, 0);
       const response = await axios.get(
-        `http://localhost:8080/api/events/date/basic/${academicYear}/${semesterId}/${batch}/${dateStr}`
+        `http://localhost:8080/api/events/calendar/${academicYear}/${semesterId}/${batch}`,
+        { params: { from: from.toLocaleDateString("en-CA"), to: to.toLocaleDateString("en-CA") } }
       );
-      setDailyEvents(
-        response.data.map((event: Event) => ({
-          id: event.id,
-          title: event.title,
-          date: new Date(event.date),
-          description: event.description,
-          createdBy: event.createdBy,
-          eventType: event.eventType,
-          semesterId: event.semesterId,
-          batch: event.batch,
-          courseId: event.courseId,
-          courseName: event.courseName,
-          semesterName: event.semesterName,
-          academicYear: event.academicYear
+      setCalendarDays(
+        response.data.map((day: CalendarDay) => ({
+          date: new Date(day.date),
+          eventCount: day.eventCount,
+          events: day.events.map((event: Event) => ({
+            id: event.id,
+            seriesId: event.seriesId,
+            title: event.title,
+            date: new Date(day.date),
+            description: event.description,
+            createdBy: event.createdBy,
+            eventType: event.eventType,
+            courseId: event.courseId,
+          })),
         }))
       );
     } catch (err) {
-      setError("Failed to fetch events for selected date");
+      setError("Failed to fetch events for the month");
       console.error(err);
     } finally {
       setIsLoading(false);
-    } 
+    }
   };
 
   const refreshAllData = async () => {
     await fetchFilteredEvents();
-    await fetchEventsForDate();
+    await fetchCalendarMonth();
   };
 
   const handleConfirm = async () => {
@@ -276,9 +285,23 @@ const CalendarPage = () => {
   };
 
   useEffect(() => {
-    if (dataLoaded) fetchEventsForDate();
+    if (dataLoaded) fetchCalendarMonth(visibleMonth);
+  }, [visibleMonth]);
+
+  // Picking a day of another month (e.g. a leading or trailing tile) moves the month along
+  useEffect(() => {
+    if (
+      selectedDate.getFullYear() !== visibleMonth.getFullYear() ||
+      selectedDate.getMonth() !== visibleMonth.getMonth()
+    ) {
+      setVisibleMonth(new Date(selectedDate.getFullYear(), selectedDate.getMonth(), 1));
+    }
   }, [selectedDate]);
 
+  const dailyEvents =
+    calendarDays.find((day) => day.date.toDateString() === selectedDate.toDateString())?.events ?? [];
+  const monthEvents = calendarDays.flatMap((day) => day.events);
+
   const filteredUpcoming = upcomingEvents.filter((event) =>
     event.title.toLowerCase().includes(searchTerm.toLowerCase())
   );
@@ -345,9 +368,10 @@ const CalendarPage = () => {
             <div className="grid grid-cols-1 lg:grid-cols-2 gap-8">
               <CalendarComponent
                 selectedDate={selectedDate}
-                dailyEvents={dailyEvents}
+                monthEvents={monthEvents}
                 upcomingEvents={upcomingEvents}
                 onDateChange={setSelectedDate}
+                onMonthChange={setVisibleMonth}
               />
 
               <div className="card bg-base-100 shadow-xl p-6">
@@ -355,7 +379,7 @@ const CalendarPage = () => {
                   dailyEvents={dailyEvents}
                   isLoading={isLoading}
                   selectedDate={selectedDate}
-                  onViewDetails={(event) => fetchEventDetails(event.id!)}
+                  onViewDetails={(event) => fetchEventDetails(event)}
                 />
 
                 <div className="divider my-6"></div>
@@ -365,7 +389,7 @@ const CalendarPage = () => {
                   filteredUpcoming={filteredUpcoming}
                   selectedEvent={selectedUpcomingEvent}
                   onSearchChange={setSearchTerm}
-                  onEventClick={(event) => fetchEventDetails(event.id!, true)}
+                  onEventClick={(event) => fetchEventDetails(event, true)}
                 />
               </div>
             </div>
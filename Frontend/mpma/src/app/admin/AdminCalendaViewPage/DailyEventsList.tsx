@@ -1,6 +1,6 @@
 import React from "react";
 import { FaUser, FaRegClock, FaSpinner, FaEye } from "react-icons/fa";
-import { Event } from "./types/event";
+import { Event, eventKey } from "./types/event";
 
 interface DailyEventsListProps {
   dailyEvents: Event[];
@@ -30,7 +30,7 @@ const DailyEventsList: React.FC<DailyEventsListProps> = ({
         <ul className="space-y-4">
           {dailyEvents.map((event) => (
             <li
-              key={event.id}
+              key={eventKey(event)}
               className="p-4 bg-primary/10 text-neutral-800 rounded-lg"
             >
               <div className="font-semibold flex justify-between">
@@ -74,6 +74,8 @@ const EventDetailView: React.FC<Props> = ({ event, onEditClick, onDeleteClick, o
         </div>
       </div>
 
+      {/* Occurrences of a recurring series are changed through the series, not one by one */}
+      {event.id != null && (
       <div className="flex justify-end gap-2 mt-6">
         <button 
           onClick={() => onEditClick(event)}
@@ -82,12 +84,13 @@ const EventDetailView: React.FC<Props> = ({ event, onEditClick, onDeleteClick, o
           <FaEdit /> Edit Event
         </button>
         <button 
-          onClick={() => event.id !== undefined ? onDeleteClick(event.id) : null}
+          onClick={() => onDeleteClick(event.id!)}
           className="btn btn-error gap-2"
         >
           <FaTrashAlt /> Delete Event
         </button>
       </div>
+      )}
     </div>
   );
 };
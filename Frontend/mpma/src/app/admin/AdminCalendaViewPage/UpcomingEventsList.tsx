@@ -1,6 +1,6 @@
 import React from "react";
 import { FaSearch } from "react-icons/fa";
-import { Event } from "./types/event";
+import { Event, eventKey } from "./types/event";
 
 interface UpcomingEventsListProps {
   searchTerm: string;
@@ -39,9 +39,9 @@ const UpcomingEventsList: React.FC<UpcomingEventsListProps> = ({
           <ul className="space-y-3 max-h-64 overflow-auto pr-2 flex-1">
             {filteredUpcoming.map((event) => (
               <li
-                key={event.id}
+                key={eventKey(event)}
                 className={`p-3 bg-blue-50 rounded-lg cursor-pointer hover:bg-blue-100 ${
-                  selectedEvent?.id === event.id ? "bg-blue-200" : ""
+                  selectedEvent && eventKey(selectedEvent) === eventKey(event) ? "bg-blue-200" : ""
                 }`}
                 onClick={() => onEventClick(event)}
               >
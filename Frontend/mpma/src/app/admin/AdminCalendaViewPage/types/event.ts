@@ -1,5 +1,7 @@
 export interface Event {
-  id?: number;
+  id?: number | null;
+  // Occurrences of a recurring series have no id; seriesId and date identify them
+  seriesId?: number | null;
   date: Date;
   title: string;
   description: string;
@@ -12,6 +14,16 @@ export interface Event {
   semesterName?: string | null;
   academicYear?: string | null;
 }
+// One day of /api/events/calendar: its event count and lightweight event rows
+export interface CalendarDay {
+  date: Date;
+  eventCount: number;
+  events: Event[];
+}
+
+export const eventKey = (event: Event) =>
+  event.id != null ? `${event.id}` : `${event.seriesId}@${new Date(event.date).toLocaleDateString("en-CA")}`;
+
 export interface SemesterBatchInfo {
   semesters: {
     semesterId: string;
@@ -3,19 +3,50 @@ import { useEffect, useState } from "react";
 import { useParams, useSearchParams } from "next/navigation";
 import axios from "axios";
 import { FaChalkboardTeacher, FaUserGraduate } from "react-icons/fa";
-import { BackendCourseDetails } from "../types/course";
+import { BackendCourseDetails, StudentDTO } from "../types/course";
+
+// The roster comes from its own paged endpoint; X-Next-Cursor is set while more students follow
+const ROSTER_PAGE_SIZE = 100;
+
+const fetchRosterPage = async (courseUrl: string, after?: string) => {
+  const response = await axios.get<StudentDTO[]>(`${courseUrl}/students`, {
+    params: { size: ROSTER_PAGE_SIZE, after },
+  });
+  return {
+    page: response.data,
+    cursor: (response.headers["x-next-cursor"] as string | undefined) ?? null,
+  };
+};
 
 export default function Page() {
   const params = useParams();
   const searchParams = useSearchParams();
   const [course, setCourse] = useState<BackendCourseDetails | null>(null);
+  const [students, setStudents] = useState<StudentDTO[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [isLoading, setIsLoading] = useState(true);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
 
   const courseId = params.courseId;
   const semesterId = searchParams.get("semesterId");
   const batch = searchParams.get("batch");
   const hasValidParams = courseId && semesterId && batch;
+  const courseUrl = `http://localhost:8080/api/enrollments/admin/course/${courseId}/semester/${semesterId}/batch/${batch}`;
+
+  const loadMoreStudents = async () => {
+    if (!nextCursor) return;
+    setIsLoadingMore(true);
+    try {
+      const { page, cursor } = await fetchRosterPage(courseUrl, nextCursor);
+      setStudents((current) => [...current, ...page]);
+      setNextCursor(cursor);
+    } catch (err) {
+      console.error("Failed to fetch more students", err);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
 
   useEffect(() => {
     const fetchCourse = async () => {
@@ -26,11 +57,13 @@ export default function Page() {
       }
 
       try {
-        const response = await axios.get<BackendCourseDetails>(
-          `http://localhost:8080/api/enrollments/admin/course/${courseId}/semester/${semesterId}/batch/${batch}`
-        );
-        console.log("Students data:", response.data.students);
+        const [response, roster] = await Promise.all([
+          axios.get<BackendCourseDetails>(courseUrl),
+          fetchRosterPage(courseUrl),
+        ]);
         setCourse(response.data);
+        setStudents(roster.page);
+        setNextCursor(roster.cursor);
         setError(null);
       } catch (err) {
         console.error("Failed to fetch course details", err);
@@ -44,7 +77,7 @@ export default function Page() {
     };
 
     fetchCourse();
-  }, [courseId, semesterId, batch, hasValidParams]);
+  }, [courseUrl, hasValidParams]);
 
   if (!hasValidParams) {
     return (
@@ -84,15 +117,6 @@ export default function Page() {
     );
   }
 
-  const studentIds = course.students.map((s) => s.studentId);
-  const uniqueIds = [...new Set(studentIds)];
-  if (studentIds.length !== uniqueIds.length) {
-    console.warn("Duplicate student IDs detected:", {
-      totalStudents: studentIds.length,
-      uniqueIds: uniqueIds.length,
-    });
-  }
-
   return (
     <div className="min-h-screen bg-base-100 py-10 px-4">
       <div className="max-w-5xl mx-auto space-y-10">
@@ -179,11 +203,11 @@ export default function Page() {
         {/* Students Section */}
         <div>
           <h2 className="text-2xl font-semibold flex items-center gap-2 mb-4">
-            <FaUserGraduate /> Students ({course.students.length})
+            <FaUserGraduate /> Students ({course.enrolledStudentCount})
           </h2>
-          {course.students.length > 0 ? (
+          {students.length > 0 ? (
             <div className="grid gap-3">
-              {course.students.map((student, index) => (
+              {students.map((student, index) => (
                 <div
                   key={`student-${student.studentId}-${student.username}-${index}`}
                   className="flex flex-col md:flex-row md:items-center justify-between bg-indigo-50 p-4 rounded-lg shadow-sm"
@@ -214,6 +238,20 @@ export default function Page() {
                   </p>
                 </div>
               ))}
+              {nextCursor && (
+                <div className="flex flex-col items-center gap-2 mt-2">
+                  <p className="text-sm text-gray-600">
+                    Showing {students.length} of {course.enrolledStudentCount} students
+                  </p>
+                  <button
+                    className="btn btn-outline btn-primary btn-sm"
+                    onClick={loadMoreStudents}
+                    disabled={isLoadingMore}
+                  >
+                    {isLoadingMore ? "Loading..." : "Load more students"}
+                  </button>
+                </div>
+              )}
             </div>
           ) : (
             <div className="alert alert-info">
@@ -30,6 +30,7 @@ export interface BackendCourseDetails {
   enrollmentStatus: EnrollmentStatus;
   enrolledStudentCount: number;
   lecturers: LecturerDTO[];
+  // First page of the roster only; the full roster is paged through .../students
   students: StudentDTO[];
 }
 
@@ -64,10 +64,18 @@ const AdminCalendar = () => {
     const fetchUpcomingEvents = async () => {
       setIsLoading(true);
       try {
-        const response = await axios.get(
-          "http://localhost:8080/api/events/upcoming/batchWiseEvents",
-        );
-        const events = response.data.map((event: Event) => ({
+        // The endpoint returns one page at a time; follow X-Next-Cursor until the last page
+        const pages: Event[] = [];
+        let after: string | undefined;
+        do {
+          const response = await axios.get(
+            "http://localhost:8080/api/events/upcoming/batchWiseEvents",
+            { params: { size: 500, after } },
+          );
+          pages.push(...response.data);
+          after = response.headers["x-next-cursor"];
+        } while (after);
+        const events = pages.map((event: Event) => ({
           ...event,
           date: new Date(event.date),
         }));